@@ -2,12 +2,14 @@ package com.quizmaster;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application class.
  * Entry point for the web application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class QuizMasterApplication {
     
     public static void main(String[] args) {
@@ -0,0 +1,59 @@
+package com.quizmaster.concurrency;
+
+import com.quizmaster.service.AnswerKey;
+import com.quizmaster.service.AnswerSheet;
+import com.quizmaster.service.GradingResult;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that grades a range of answer sheets.
+ * Splits the range in halves until it is small enough to grade directly.
+ * Demonstrates divide-and-conquer concurrency with ForkJoinPool.
+ */
+public class BatchGradingTask extends RecursiveAction {
+
+    private static final int THRESHOLD = 256;
+
+    private final List<AnswerSheet> sheets;
+    private final AnswerKey[] keys;
+    private final GradingResult[] results;
+    private final int from;
+    private final int to;
+
+    /**
+     * @param keys    answer key for each sheet, {@code null} when the quiz does not exist
+     * @param results output array aligned with {@code sheets}
+     */
+    public BatchGradingTask(List<AnswerSheet> sheets, AnswerKey[] keys, GradingResult[] results) {
+        this(sheets, keys, results, 0, sheets.size());
+    }
+
+    private BatchGradingTask(List<AnswerSheet> sheets, AnswerKey[] keys, GradingResult[] results,
+                             int from, int to) {
+        this.sheets = sheets;
+        this.keys = keys;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                AnswerKey key = keys[i];
+                if (key != null) {
+                    results[i] = sheets.get(i).gradeWith(key);
+                }
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(
+                new BatchGradingTask(sheets, keys, results, from, mid),
+                new BatchGradingTask(sheets, keys, results, mid, to)
+        );
+    }
+}
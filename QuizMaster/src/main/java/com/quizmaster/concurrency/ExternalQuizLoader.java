@@ -1,51 +1,174 @@
 package com.quizmaster.concurrency;
 
 import com.quizmaster.model.QuizEntity;
+import com.quizmaster.source.QuizSource;
+import com.quizmaster.util.ChunkFallback;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Service for loading quizzes concurrently from external sources.
  * Demonstrates Java concurrency with ExecutorService and Future.
+ * Quizzes come from the configured {@link QuizSource}.
+ * <p>
+ * Loads spend nearly all their time blocked on the remote side, so by
+ * default each one runs on its own virtual thread and a semaphore caps how
+ * many are in flight ({@code quizmaster.loader.max-concurrency}); the
+ * fixed platform pool ({@code quizmaster.loader.pool-size}) is kept as the
+ * other {@code quizmaster.loader.mode}.
+ * <p>
+ * Every load has a deadline of {@code quizmaster.loader.source-timeout-ms}
+ * from when it starts running, and a whole batch one of
+ * {@code quizmaster.loader.batch-timeout-ms}. A load past either is
+ * cancelled by interrupting it, which {@link QuizLoadTask} honours, and is
+ * reported as timed out in the {@link LoadResult} next to the successes and
+ * failures.
  */
 @Component
 public class ExternalQuizLoader {
 
+    /**
+     * How load tasks are run.
+     */
+    public enum ExecutionMode {
+        /** A fixed pool of platform threads; the pool size bounds concurrent loads. */
+        FIXED,
+        /** A virtual thread per load; a semaphore bounds concurrent loads. */
+        VIRTUAL
+    }
+
+    private final ExecutionMode mode;
     private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final int concurrency;
+    private final QuizSource source;
+    private final int persistBatchSize;
+    private final long sourceTimeoutMillis;
+    private final long batchTimeoutMillis;
+    private final HashedTimerWheel timeouts;
+
+    public ExternalQuizLoader(QuizSource source,
+                              @Value("${quizmaster.loader.mode:virtual}") ExecutionMode mode,
+                              @Value("${quizmaster.loader.pool-size:5}") int poolSize,
+                              @Value("${quizmaster.loader.max-concurrency:200}") int maxConcurrency,
+                              @Value("${quizmaster.loader.persist-batch-size:10}") int persistBatchSize,
+                              @Value("${quizmaster.loader.source-timeout-ms:5000}") long sourceTimeoutMillis,
+                              @Value("${quizmaster.loader.batch-timeout-ms:20000}") long batchTimeoutMillis) {
+        this.mode = mode;
+        this.persistBatchSize = Math.max(1, persistBatchSize);
+        this.sourceTimeoutMillis = Math.max(1, sourceTimeoutMillis);
+        this.batchTimeoutMillis = Math.max(1, batchTimeoutMillis);
+        // firing only cancels a future, cheap enough to run on the wheel thread
+        this.timeouts = new HashedTimerWheel("quiz-loader-timeouts", 10, TimeUnit.MILLISECONDS, 512, Runnable::run);
+        this.source = source;
+        if (mode == ExecutionMode.VIRTUAL) {
+            this.concurrency = Math.max(1, maxConcurrency);
+            this.permits = new Semaphore(concurrency);
+            this.executorService = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("quiz-loader-", 1).factory());
+        } else {
+            this.concurrency = Math.max(1, poolSize);
+            this.permits = null;
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executorService = Executors.newFixedThreadPool(concurrency, runnable ->
+                    new Thread(runnable, "quiz-loader-" + threadNumber.incrementAndGet()));
+        }
+    }
 
-    public ExternalQuizLoader() {
-        this.executorService = Executors.newFixedThreadPool(5);
+    /**
+     * @return the quizzes loaded within their deadlines; see {@link #load} for the others
+     */
+    public List<QuizEntity> loadQuizzesConcurrently(List<String> quizTitles) throws InterruptedException {
+        return load(quizTitles).getQuizzes();
     }
 
-    public List<QuizEntity> loadQuizzesConcurrently(List<String> quizTitles)
-            throws InterruptedException, ExecutionException {
+    /**
+     * Loads the quizzes concurrently without storing them.
+     */
+    public LoadResult load(List<String> quizTitles) throws InterruptedException {
+        return loadAndPersist(quizTitles, batch -> { });
+    }
 
+    /**
+     * Loads the quizzes concurrently and hands them to {@code persister} as
+     * their sources complete, so storing overlaps with the loads still
+     * running. Completed quizzes are validated and stored in batches of up
+     * to {@code quizmaster.loader.persist-batch-size}; a smaller batch is
+     * stored whenever no other load has finished in the meantime. A batch
+     * that fails is retried quiz by quiz.
+     * <p>
+     * A failed or invalid source is recorded in the result and does not stop
+     * the others.
+     *
+     * @param persister stores one batch, in its own transaction
+     */
+    public LoadResult loadAndPersist(List<String> quizTitles, Consumer<List<QuizEntity>> persister)
+            throws InterruptedException {
         long startTime = System.currentTimeMillis();
-        System.out.println("=== Starting concurrent quiz loading ===");
-        System.out.println("Quiz count: " + quizTitles.size());
+        long batchDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMillis);
+        System.out.println("=== Starting load-and-persist ===");
+        System.out.println("Quiz count: " + quizTitles.size() + ", mode: " + mode + ", concurrency: " + concurrency);
 
-        List<QuizLoadTask> tasks = new ArrayList<>();
+        LoadResult result = new LoadResult(quizTitles.size());
+        BlockingQueue<PendingLoad> completed = new LinkedBlockingQueue<>();
+        List<PendingLoad> loads = new ArrayList<>(quizTitles.size());
         for (int i = 0; i < quizTitles.size(); i++) {
-            tasks.add(new QuizLoadTask(quizTitles.get(i), i + 1));
+            PendingLoad load = new PendingLoad(quizTitles.get(i), newTask(quizTitles.get(i), i + 1), completed);
+            loads.add(load);
+            executorService.execute(load.future);
         }
 
-        List<Future<QuizEntity>> futures = executorService.invokeAll(tasks);
-
-        List<QuizEntity> loadedQuizzes = new ArrayList<>();
-        for (Future<QuizEntity> future : futures) {
-            loadedQuizzes.add(future.get());
+        List<QuizEntity> batch = new ArrayList<>(persistBatchSize);
+        List<String> batchTitles = new ArrayList<>(persistBatchSize);
+        boolean deadlinePassed = false;
+        try {
+            int remaining = loads.size();
+            while (remaining > 0) {
+                if (!deadlinePassed && System.nanoTime() - batchDeadline >= 0) {
+                    deadlinePassed = true;
+                    // each cancelled load is queued as completed right away
+                    String reason = "batch deadline of " + batchTimeoutMillis + " ms passed";
+                    loads.forEach(load -> load.timeOut(reason));
+                }
+                PendingLoad done = completed.poll();
+                if (done == null) {
+                    // nothing else finished yet: store what is waiting rather than idle
+                    persist(batch, batchTitles, persister, result, startTime);
+                    done = deadlinePassed
+                            ? completed.take()
+                            : completed.poll(batchDeadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        continue;
+                    }
+                }
+                remaining--;
+                QuizEntity quiz = outcome(done, result);
+                if (quiz != null) {
+                    batch.add(quiz);
+                    batchTitles.add(done.title);
+                    if (batch.size() == persistBatchSize) {
+                        persist(batch, batchTitles, persister, result, startTime);
+                    }
+                }
+            }
+            persist(batch, batchTitles, persister, result, startTime);
+        } finally {
+            // only left early when interrupted
+            loads.forEach(load -> load.future.cancel(true));
         }
 
-        long endTime = System.currentTimeMillis();
-        System.out.println("=== Concurrent loading completed ===");
-        System.out.println("Total time: " + (endTime - startTime) + "ms");
-        System.out.println("Quizzes loaded: " + loadedQuizzes.size());
-
-        return loadedQuizzes;
+        result.setElapsedMillis(System.currentTimeMillis() - startTime);
+        System.out.println("=== Load-and-persist completed: " + result + " ===");
+        return result;
     }
+
     public List<QuizEntity> loadQuizzesSequentially(List<String> quizTitles)
             throws Exception {
 
@@ -56,7 +179,7 @@ public class ExternalQuizLoader {
         List<QuizEntity> loadedQuizzes = new ArrayList<>();
 
         for (int i = 0; i < quizTitles.size(); i++) {
-            QuizLoadTask task = new QuizLoadTask(quizTitles.get(i), i + 1);
+            QuizLoadTask task = newTask(quizTitles.get(i), i + 1);
             loadedQuizzes.add(task.call()); // Direct call - sequential
         }
 
@@ -67,7 +190,125 @@ public class ExternalQuizLoader {
 
         return loadedQuizzes;
     }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return how many loads may run at once
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Records how a finished load ended.
+     *
+     * @return its quiz if it can be stored, otherwise null
+     */
+    private static QuizEntity outcome(PendingLoad load, LoadResult result) throws InterruptedException {
+        if (load.future.isCancelled()) {
+            result.timeOut(load.title, load.timeoutReason != null ? load.timeoutReason : "cancelled");
+            return null;
+        }
+        result.recordLoadTime(load.millis);
+        QuizEntity quiz;
+        try {
+            quiz = load.future.get();
+        } catch (ExecutionException e) {
+            result.fail(load.title, e.getCause().toString());
+            return null;
+        }
+        if (quiz == null || !quiz.isValid()) {
+            result.fail(load.title, "invalid quiz: no questions, or a question without answers");
+            return null;
+        }
+        return quiz;
+    }
+
+    private static void persist(List<QuizEntity> batch, List<String> titles, Consumer<List<QuizEntity>> persister,
+                                LoadResult result, long startTime) {
+        ChunkFallback.apply(batch, quizzes -> {
+            // ids a rolled-back attempt assigned
+            quizzes.forEach(QuizEntity::clearIds);
+            persister.accept(quizzes);
+            result.addPersisted(quizzes, System.currentTimeMillis() - startTime);
+        }, (quiz, position, e) -> result.fail(titles.get(position), e.getMessage()));
+        batch.clear();
+        titles.clear();
+    }
+
+    private QuizLoadTask newTask(String quizTitle, int quizNumber) {
+        return new QuizLoadTask(source, quizTitle, quizNumber);
+    }
+
+    /**
+     * In virtual mode, makes the task wait for a permit on its own (cheap)
+     * virtual thread, so the limit holds however many tasks are submitted.
+     */
+    private <T> Callable<T> limited(Callable<T> task) {
+        if (permits == null) {
+            return task;
+        }
+        return () -> {
+            permits.acquire();
+            try {
+                return task.call();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * One submitted load. Its source deadline starts once it runs, after
+     * waiting for a permit; its future queues it as completed however it ends.
+     */
+    private final class PendingLoad implements Callable<QuizEntity> {
+        final String title;
+        final QuizLoadTask task;
+        final FutureTask<QuizEntity> future;
+        volatile String timeoutReason;
+        volatile long millis;
+
+        PendingLoad(String title, QuizLoadTask task, BlockingQueue<PendingLoad> completed) {
+            this.title = title;
+            this.task = task;
+            this.future = new FutureTask<>(limited(this)) {
+                @Override
+                protected void done() {
+                    completed.add(PendingLoad.this);
+                }
+            };
+        }
+
+        @Override
+        public QuizEntity call() throws Exception {
+            long start = System.nanoTime();
+            HashedTimerWheel.Timeout timeout = timeouts.schedule(
+                    () -> timeOut("no response within " + sourceTimeoutMillis + " ms"),
+                    sourceTimeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                return task.call();
+            } finally {
+                timeout.cancel();
+                millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            }
+        }
+
+        void timeOut(String reason) {
+            if (!future.isDone()) {
+                // set first: the completed queue sees it once the cancel lands
+                timeoutReason = reason;
+                future.cancel(true);
+            }
+        }
+    }
+
+    @PreDestroy
     public void shutdown() {
+        timeouts.stop();
         executorService.shutdown();
         try {
             if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
@@ -77,4 +318,4 @@ public class ExternalQuizLoader {
             executorService.shutdownNow();
         }
     }
-}
\ No newline at end of file
+}
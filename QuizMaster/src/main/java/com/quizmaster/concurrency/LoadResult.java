@@ -0,0 +1,126 @@
+package com.quizmaster.concurrency;
+
+import com.quizmaster.model.QuizEntity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a load-and-persist run of {@link ExternalQuizLoader}: the
+ * quizzes stored, in the order their sources completed, the sources that
+ * ran out of time, and why the others produced nothing. A run cut short by
+ * its deadlines still returns what it got. Only touched by the thread
+ * running the load.
+ */
+public class LoadResult {
+
+    private final int requested;
+    private final List<QuizEntity> quizzes = new ArrayList<>();
+    private final Map<String, String> failures = new LinkedHashMap<>();
+    private final Map<String, String> timedOut = new LinkedHashMap<>();
+    private int batches;
+    private long slowestLoadMillis;
+    private long firstPersistMillis = -1;
+    private long elapsedMillis;
+
+    LoadResult(int requested) {
+        this.requested = requested;
+    }
+
+    void addPersisted(List<QuizEntity> batch, long sinceStartMillis) {
+        quizzes.addAll(batch);
+        batches++;
+        if (firstPersistMillis < 0) {
+            firstPersistMillis = sinceStartMillis;
+        }
+    }
+
+    void fail(String source, String reason) {
+        failures.put(source, reason);
+    }
+
+    void timeOut(String source, String reason) {
+        timedOut.put(source, reason);
+    }
+
+    void recordLoadTime(long millis) {
+        slowestLoadMillis = Math.max(slowestLoadMillis, millis);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    /**
+     * @return the stored quizzes, detached, in completion order
+     */
+    public List<QuizEntity> getQuizzes() {
+        return quizzes;
+    }
+
+    /**
+     * @return reason per source title that failed to load, was invalid or could not be stored
+     */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return reason per source title that was cancelled at a deadline
+     */
+    public Map<String, String> getTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * @return whether every requested source was stored
+     */
+    public boolean isComplete() {
+        return quizzes.size() == requested;
+    }
+
+    /**
+     * @return transactions used to store the quizzes
+     */
+    public int getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the longest load that finished by itself; the run cannot finish sooner
+     */
+    public long getSlowestLoadMillis() {
+        return slowestLoadMillis;
+    }
+
+    /**
+     * @return time from the start until the first quiz was stored, or -1 if none was
+     */
+    public long getFirstPersistMillis() {
+        return firstPersistMillis;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadResult{" +
+                "requested=" + requested +
+                ", stored=" + quizzes.size() +
+                ", failed=" + failures.size() +
+                ", timedOut=" + timedOut.size() +
+                ", batches=" + batches +
+                ", slowestLoadMillis=" + slowestLoadMillis +
+                ", firstPersistMillis=" + firstPersistMillis +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
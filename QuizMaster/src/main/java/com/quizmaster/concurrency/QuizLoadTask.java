@@ -1,10 +1,8 @@
 package com.quizmaster.concurrency;
 
 import com.quizmaster.model.QuizEntity;
-import com.quizmaster.model.QuizQuestion;
-import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.source.QuizSource;
 
-import java.util.Random;
 import java.util.concurrent.Callable;
 
 /**
@@ -13,44 +11,24 @@ import java.util.concurrent.Callable;
  */
 public class QuizLoadTask implements Callable<QuizEntity> {
 
+    private final QuizSource source;
     private final String quizTitle;
     private final int quizNumber;
-    private final Random random;
 
-    public QuizLoadTask(String quizTitle, int quizNumber) {
+    public QuizLoadTask(QuizSource source, String quizTitle, int quizNumber) {
+        this.source = source;
         this.quizTitle = quizTitle;
         this.quizNumber = quizNumber;
-        this.random = new Random();
     }
 
     @Override
     public QuizEntity call() throws Exception {
         long startTime = System.currentTimeMillis();
         System.out.println("Thread " + Thread.currentThread().getName() +
-                " - Loading quiz: " + quizTitle);
+                " - Loading quiz: " + quizTitle + " from " + source.getName());
 
-        Thread.sleep(1000 + random.nextInt(2000));
-
-        QuizEntity quiz = new QuizEntity(quizTitle, "Loaded from external source");
-        quiz.setTimeLimit(30);
-
-        for (int i = 1; i <= 3; i++) {
-            QuizQuestion question = new QuizQuestion(
-                    "Question " + i + " from " + quizTitle,
-                    5,
-                    QuizQuestion.DifficultyLevel.MEDIUM
-            );
-
-            for (int j = 1; j <= 4; j++) {
-                QuizAnswer answer = new QuizAnswer(
-                        "Answer " + j + " for question " + i,
-                        j == 1 // First answer is correct
-                );
-                question.addAnswer(answer);
-            }
-
-            quiz.addQuestion(question);
-        }
+        checkCancelled();
+        QuizEntity quiz = source.fetch(quizTitle);
 
         long endTime = System.currentTimeMillis();
         System.out.println("Thread " + Thread.currentThread().getName() +
@@ -59,4 +37,14 @@ public class QuizLoadTask implements Callable<QuizEntity> {
 
         return quiz;
     }
-}
\ No newline at end of file
+
+    /**
+     * Cancellation interrupts the loading thread; stop before starting a
+     * fetch nobody waits for. Sources stop on the interrupt themselves.
+     */
+    private void checkCancelled() throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Loading " + quizTitle + " was cancelled");
+        }
+    }
+}
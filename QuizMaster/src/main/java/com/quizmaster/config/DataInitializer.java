@@ -1,11 +1,13 @@
 package com.quizmaster.config;
 
 import com.quizmaster.model.*;
-import com.quizmaster.repository.QuizRepository;
+import com.quizmaster.service.QuizService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 /**
  * Configuration class to initialize sample data.
  * Demonstrates database operations and OOP principles.
@@ -14,8 +16,14 @@ import org.springframework.context.annotation.Configuration;
 public class DataInitializer {
     
     @Bean
-    CommandLineRunner initDatabase(QuizRepository quizRepository) {
+    CommandLineRunner initDatabase(QuizService quizService) {
         return args -> {
+            // a restored catalog snapshot takes the place of the sample data
+            if (quizService.countQuizzes() > 0) {
+                System.out.println("\n✅ Catalog already populated, skipping sample data");
+                return;
+            }
+
             // Create Java Quiz
             QuizEntity javaQuiz = new QuizEntity(
                 "Java Fundamentals",
@@ -128,10 +136,8 @@ public class DataInitializer {
             dbQuiz.addQuestion(dq1);
             dbQuiz.addQuestion(dq2);
             
-            // Save all quizzes
-            quizRepository.save(javaQuiz);
-            quizRepository.save(oopQuiz);
-            quizRepository.save(dbQuiz);
+            // Save all quizzes in one batched transaction
+            quizService.createQuizzes(List.of(javaQuiz, oopQuiz, dbQuiz));
             
             System.out.println("\n✅ Sample data initialized successfully!");
             System.out.println("   - " + javaQuiz.getTitle() + " (" + javaQuiz.getQuestionCount() + " questions)");
@@ -0,0 +1,150 @@
+package com.quizmaster.config;
+
+import com.quizmaster.source.FileQuizSource;
+import com.quizmaster.source.HttpQuizSource;
+import com.quizmaster.source.QuizSource;
+import com.quizmaster.source.QuizSourceRouter;
+import com.quizmaster.source.ResilientQuizSource;
+import com.quizmaster.source.RetryPolicy;
+import com.quizmaster.source.SimulatedQuizSource;
+import com.quizmaster.source.StubQuizServer;
+import com.quizmaster.source.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds the named {@link QuizSource}s the external quiz loader fetches
+ * from, listed in {@code quizmaster.sources.names}. Each one has a type:
+ * <ul>
+ *   <li>{@code simulated}: no I/O, random latency (the default)</li>
+ *   <li>{@code http}: JSON over HTTP from {@code base-url}</li>
+ *   <li>{@code file}: JSON files in {@code file.directory}</li>
+ *   <li>{@code stub}: HTTP against an embedded server on loopback, for offline tests</li>
+ * </ul>
+ * A setting is read from {@code quizmaster.sources.named.<name>.<key>},
+ * falling back to {@code quizmaster.sources.<key>}. Every source gets its
+ * own rate limit, bulkhead and retry policy; they share only the HTTP client.
+ * <p>
+ * The loader cancels a fetch after {@code quizmaster.loader.source-timeout-ms},
+ * so each source's attempts, their bulkhead waits and the longest backoffs
+ * must fit in it: an HTTP request timeout is cut down until they do, and a
+ * retry policy that cannot fit at all fails startup.
+ */
+@Configuration
+public class QuizSourceConfig {
+
+    private static final String PREFIX = "quizmaster.sources.";
+
+    /**
+     * One client for all HTTP sources, so they share its pool of kept-alive connections.
+     */
+    @Bean
+    HttpClient quizSourceHttpClient(@Value("${quizmaster.sources.http.connect-timeout-ms:2000}") long connectTimeoutMillis) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+    }
+
+    @Bean
+    QuizSourceRouter quizSources(HttpClient httpClient,
+                                 Environment environment,
+                                 @Value("${quizmaster.sources.names:default}") List<String> names,
+                                 @Value("${quizmaster.loader.source-timeout-ms:5000}") long sourceTimeoutMillis)
+            throws IOException {
+        QuizSourceRouter router = new QuizSourceRouter();
+        try {
+            for (String name : names) {
+                SourceSettings settings = new SourceSettings(environment, name.trim());
+                RetryPolicy retryPolicy = new RetryPolicy(settings.getInt("retry.max-attempts", 3),
+                        settings.getLong("retry.base-delay-ms", 100),
+                        settings.getLong("retry.max-delay-ms", 500));
+                long bulkheadWaitMillis = settings.getLong("bulkhead-wait-ms", 250);
+                long attemptMillis = retryPolicy.attemptBudgetMillis(sourceTimeoutMillis) - bulkheadWaitMillis;
+                if (attemptMillis <= 0) {
+                    throw new IllegalArgumentException("Retries of quiz source " + settings.name +
+                            " do not fit in the loader's " + sourceTimeoutMillis + " ms source timeout");
+                }
+                QuizSource source = source(settings, httpClient, router, attemptMillis);
+                router.register(settings.name, new ResilientQuizSource(source,
+                        settings.getInt("max-concurrent-calls", 100),
+                        bulkheadWaitMillis,
+                        new TokenBucketRateLimiter(settings.getDouble("rate-per-second", 100), settings.getInt("burst", 50)),
+                        retryPolicy));
+            }
+        } catch (IOException | RuntimeException e) {
+            router.close();
+            throw e;
+        }
+        return router;
+    }
+
+    private static QuizSource source(SourceSettings settings, HttpClient httpClient, QuizSourceRouter router,
+                                     long attemptMillis) throws IOException {
+        long minLatencyMillis = settings.getLong("simulated.min-latency-ms", 1000);
+        long maxLatencyMillis = settings.getLong("simulated.max-latency-ms", 3000);
+        String type = settings.get("type", "simulated");
+        long requestTimeoutMillis = settings.getLong("http.request-timeout-ms", 1000);
+        if (requestTimeoutMillis > attemptMillis && (type.equalsIgnoreCase("http") || type.equalsIgnoreCase("stub"))) {
+            System.out.println("Quiz source " + settings.name + ": request timeout cut to " + attemptMillis +
+                    " ms so its retries fit in the source timeout");
+            requestTimeoutMillis = attemptMillis;
+        }
+        Duration requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        QuizSource source = switch (type.toLowerCase()) {
+            case "simulated" -> new SimulatedQuizSource(minLatencyMillis, maxLatencyMillis);
+            case "http" -> new HttpQuizSource(httpClient, URI.create(settings.get("http.base-url", "http://localhost:9090/")),
+                    requestTimeout);
+            case "file" -> new FileQuizSource(Paths.get(settings.get("file.directory", "quiz-sources")));
+            case "stub" -> {
+                StubQuizServer server = new StubQuizServer(0, minLatencyMillis, maxLatencyMillis,
+                        settings.getDouble("stub.failure-rate", 0.1));
+                router.closeWith(server);
+                server.start();
+                yield new HttpQuizSource(httpClient, server.getBaseUri(), requestTimeout);
+            }
+            default -> throw new IllegalArgumentException("Unknown type of quiz source " + settings.name + ": " + type);
+        };
+        System.out.println("Quiz source " + settings.name + ": " + source.getName());
+        return source;
+    }
+
+    /**
+     * The settings of one named source, with the shared ones as defaults.
+     */
+    private static final class SourceSettings {
+        final String name;
+        private final Environment environment;
+
+        SourceSettings(Environment environment, String name) {
+            this.environment = environment;
+            this.name = name;
+        }
+
+        String get(String key, String defaultValue) {
+            return environment.getProperty(PREFIX + "named." + name + "." + key,
+                    environment.getProperty(PREFIX + key, defaultValue));
+        }
+
+        long getLong(String key, long defaultValue) {
+            return Long.parseLong(get(key, Long.toString(defaultValue)).trim());
+        }
+
+        int getInt(String key, int defaultValue) {
+            return Integer.parseInt(get(key, Integer.toString(defaultValue)).trim());
+        }
+
+        double getDouble(String key, double defaultValue) {
+            return Double.parseDouble(get(key, Double.toString(defaultValue)).trim());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.quizmaster.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Points Hibernate's JCache region factory at the Ehcache configuration.
+ * Hibernate opens the configured URI as a URL, and {@code classpath:} URLs
+ * only resolve once embedded Tomcat has registered its handler, so the
+ * location is resolved here and handed over as a plain file or jar URI.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer ehcacheConfigUri(@Value("${quizmaster.cache.config:classpath:ehcache.xml}") Resource config) {
+        return properties -> {
+            try {
+                properties.put(ConfigSettings.CONFIG_URI, config.getURI().toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot resolve cache configuration " + config, e);
+            }
+        };
+    }
+}
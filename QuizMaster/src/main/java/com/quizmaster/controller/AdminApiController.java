@@ -0,0 +1,228 @@
+package com.quizmaster.controller;
+
+import com.quizmaster.service.BulkDeleteResult;
+import com.quizmaster.service.CatalogCacheService;
+import com.quizmaster.service.DeltaExportResult;
+import com.quizmaster.service.DeltaImportResult;
+import com.quizmaster.service.DirectoryImportReport;
+import com.quizmaster.service.ImportReport;
+import com.quizmaster.service.QuizCatalogImportService;
+import com.quizmaster.service.QuizDeltaService;
+import com.quizmaster.service.QuizPayloadCache;
+import com.quizmaster.service.QuizBulkDeleteService;
+import com.quizmaster.service.QuizService;
+import com.quizmaster.source.QuizSourceRouter;
+import com.quizmaster.util.JsonSerializer;
+import com.quizmaster.util.QuizCatalogFormat;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Operational endpoints.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminApiController {
+
+    private final CatalogCacheService catalogCacheService;
+    private final QuizPayloadCache quizPayloadCache;
+    private final QuizBulkDeleteService quizBulkDeleteService;
+    private final QuizService quizService;
+    private final QuizCatalogImportService quizCatalogImportService;
+    private final QuizDeltaService quizDeltaService;
+    private final QuizSourceRouter quizSources;
+
+    public AdminApiController(CatalogCacheService catalogCacheService,
+                              QuizPayloadCache quizPayloadCache,
+                              QuizBulkDeleteService quizBulkDeleteService,
+                              QuizService quizService,
+                              QuizCatalogImportService quizCatalogImportService,
+                              QuizDeltaService quizDeltaService,
+                              QuizSourceRouter quizSources) {
+        this.catalogCacheService = catalogCacheService;
+        this.quizPayloadCache = quizPayloadCache;
+        this.quizBulkDeleteService = quizBulkDeleteService;
+        this.quizService = quizService;
+        this.quizCatalogImportService = quizCatalogImportService;
+        this.quizDeltaService = quizDeltaService;
+        this.quizSources = quizSources;
+    }
+
+    @GetMapping("/cache")
+    public Map<String, Object> getCacheMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>(catalogCacheService.getMetrics());
+        metrics.put("payloads", quizPayloadCache.getMetrics());
+        return metrics;
+    }
+
+    /**
+     * Rate limiter, bulkhead and retry counters of every external quiz source, by name.
+     */
+    @GetMapping("/sources")
+    public Map<String, Map<String, Object>> getSourceMetrics() {
+        return quizSources.getMetrics();
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        catalogCacheService.evictAll();
+        quizPayloadCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Bulk-deletes quizzes selected by exactly one of: an id list, a
+     * case-insensitive SQL LIKE title pattern, or a creation cutoff.
+     */
+    @DeleteMapping("/quizzes")
+    public ResponseEntity<BulkDeleteResult> deleteQuizzes(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore) {
+        if (Stream.of(ids, title, createdBefore).filter(criterion -> criterion != null).count() != 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (ids != null) {
+            return ResponseEntity.ok(quizBulkDeleteService.deleteByIds(ids));
+        }
+        if (title != null) {
+            if (title.isBlank()) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(quizBulkDeleteService.deleteByTitlePattern(title));
+        }
+        return ResponseEntity.ok(quizBulkDeleteService.deleteCreatedBefore(createdBefore));
+    }
+
+    /**
+     * Streams the whole catalog to a file in the export directory, as JSON,
+     * in the compact binary format or as JSON Lines, which can also be
+     * appended to an existing file.
+     */
+    @PostMapping("/export")
+    public ResponseEntity<Map<String, Object>> exportCatalog(
+            @RequestParam(defaultValue = "catalog") String file,
+            @RequestParam(defaultValue = "json") String format,
+            @RequestParam(defaultValue = "true") boolean compress,
+            @RequestParam(defaultValue = "false") boolean append) throws IOException {
+        long start = System.currentTimeMillis();
+        Path path;
+        try {
+            path = quizService.exportCatalog(file, QuizCatalogFormat.fromName(format), compress, append);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("path", path.toAbsolutePath().toString());
+        result.put("bytes", Files.size(path));
+        result.put("elapsedMillis", System.currentTimeMillis() - start);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Imports a catalog file from the export directory as new quizzes. The
+     * format is detected from the file content; names without a catalog
+     * extension are taken as JSON. JSON Lines files are parsed in parallel.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importCatalog(
+            @RequestParam String file,
+            @RequestParam(required = false) Integer chunkSize) throws IOException {
+        Path path;
+        try {
+            path = QuizCatalogFormat.isCatalogFile(file)
+                    ? JsonSerializer.resolveExportPath(file, "")
+                    : JsonSerializer.resolveExportPath(file, QuizCatalogFormat.JSON.getExtension());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!Files.isRegularFile(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(chunkSize != null
+                ? quizCatalogImportService.importCatalog(path, chunkSize)
+                : quizCatalogImportService.importCatalog(path));
+    }
+
+    /**
+     * Imports every catalog file of the export directory, parsing files in
+     * parallel and leaving out repeated quizzes.
+     */
+    @PostMapping("/import-directory")
+    public ResponseEntity<DirectoryImportReport> importDirectory(
+            @RequestParam(defaultValue = "content") String dedupe,
+            @RequestParam(required = false) Integer chunkSize) throws IOException {
+        QuizCatalogImportService.DedupeKey dedupeKey;
+        try {
+            dedupeKey = QuizCatalogImportService.DedupeKey.valueOf(dedupe.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Path directory = JsonSerializer.getExportDirectory();
+        if (!Files.isDirectory(directory)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(chunkSize != null
+                ? quizCatalogImportService.importDirectory(directory, dedupeKey, chunkSize)
+                : quizCatalogImportService.importDirectory(directory, dedupeKey));
+    }
+
+    /**
+     * Writes the quizzes changed and deleted after {@code since} to a delta
+     * file; the response's {@code until} is the {@code since} of the next call.
+     */
+    @PostMapping("/export-delta")
+    public ResponseEntity<Map<String, Object>> exportDelta(
+            @RequestParam(defaultValue = "delta") String file,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since)
+            throws IOException {
+        DeltaExportResult delta;
+        try {
+            delta = quizDeltaService.exportDelta(file, since);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("path", delta.getPath().toAbsolutePath().toString());
+        result.put("since", delta.getSince());
+        result.put("until", delta.getUntil());
+        result.put("quizzes", delta.getQuizzes());
+        result.put("deletes", delta.getDeletes());
+        result.put("bytes", Files.size(delta.getPath()));
+        result.put("elapsedMillis", delta.getElapsedMillis());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Applies a delta file from the export directory.
+     */
+    @PostMapping("/import-delta")
+    public ResponseEntity<DeltaImportResult> importDelta(@RequestParam String file) throws IOException {
+        Path path;
+        try {
+            path = JsonSerializer.resolveExportPath(file);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!Files.isRegularFile(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(quizDeltaService.importDelta(path));
+    }
+}
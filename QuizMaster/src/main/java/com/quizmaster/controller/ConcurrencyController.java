@@ -1,6 +1,7 @@
 package com.quizmaster.controller;
 
 import com.quizmaster.concurrency.ExternalQuizLoader;
+import com.quizmaster.concurrency.LoadResult;
 import com.quizmaster.model.QuizEntity;
 import com.quizmaster.service.QuizService;
 import org.springframework.stereotype.Controller;
@@ -44,19 +45,19 @@ public class ConcurrencyController {
                     "Web Development"
             );
 
-            long startTime = System.currentTimeMillis();
-            List<QuizEntity> quizzes = quizLoader.loadQuizzesConcurrently(quizTitles);
-            long duration = System.currentTimeMillis() - startTime;
+            // each quiz is stored as soon as its source returns, while the others still load
+            LoadResult result = quizLoader.loadAndPersist(quizTitles, quizService::createQuizzes);
 
-            for (QuizEntity quiz : quizzes) {
-                quizService.createQuiz(quiz);
-            }
-
-            model.addAttribute("method", "Concurrent (Parallel)");
-            model.addAttribute("duration", duration);
-            model.addAttribute("quizzes", quizzes);
-            model.addAttribute("message", "✅ Loaded " + quizzes.size() +
-                    " quizzes in " + duration + "ms");
+            model.addAttribute("method", "Concurrent (Parallel, " + quizLoader.getMode() + " threads)");
+            model.addAttribute("duration", result.getElapsedMillis());
+            model.addAttribute("quizzes", result.getQuizzes());
+            model.addAttribute("failures", result.getFailures());
+            model.addAttribute("timedOut", result.getTimedOut());
+            model.addAttribute("message", (result.isComplete() ? "✅ Loaded " : "⚠️ Loaded ") +
+                    result.getQuizzes().size() + " of " + result.getRequested() +
+                    " quizzes in " + result.getElapsedMillis() + "ms (slowest source " +
+                    result.getSlowestLoadMillis() + "ms, " + result.getTimedOut().size() + " timed out, " +
+                    result.getFailures().size() + " failed)");
 
         } catch (Exception e) {
             model.addAttribute("message", "❌ Error: " + e.getMessage());
@@ -80,9 +81,7 @@ public class ConcurrencyController {
             List<QuizEntity> quizzes = quizLoader.loadQuizzesSequentially(quizTitles);
             long duration = System.currentTimeMillis() - startTime;
 
-            for (QuizEntity quiz : quizzes) {
-                quizService.createQuiz(quiz);
-            }
+            quizService.createQuizzes(quizzes);
 
             model.addAttribute("method", "Sequential (One by one)");
             model.addAttribute("duration", duration);
@@ -0,0 +1,35 @@
+package com.quizmaster.controller;
+
+import com.quizmaster.service.BatchGradingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST endpoint for bulk grading of offline answer sheets.
+ * Accepts a JSON array or NDJSON stream of sheets such as
+ * {@code {"sheetId":"A-17","quizId":1,"answers":{"1":2,"2":8}}}
+ * and streams one NDJSON result per sheet.
+ */
+@RestController
+@RequestMapping("/api/grading")
+public class GradingApiController {
+
+    private final BatchGradingService batchGradingService;
+
+    public GradingApiController(BatchGradingService batchGradingService) {
+        this.batchGradingService = batchGradingService;
+    }
+
+    @PostMapping("/batch")
+    public void gradeBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        batchGradingService.gradeStream(request.getInputStream(), response.getOutputStream());
+    }
+}
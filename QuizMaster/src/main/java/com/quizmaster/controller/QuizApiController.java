@@ -0,0 +1,185 @@
+package com.quizmaster.controller;
+
+import com.quizmaster.search.QuizSearchService;
+import com.quizmaster.search.SearchHit;
+import com.quizmaster.search.SearchResults;
+import com.quizmaster.service.LeaderboardEntry;
+import com.quizmaster.service.LeaderboardService;
+import com.quizmaster.service.QuestionCounters;
+import com.quizmaster.service.QuestionStatisticsService;
+import com.quizmaster.service.QuizPayload;
+import com.quizmaster.service.QuizService;
+import com.quizmaster.service.QuizSessionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JSON endpoints for quiz resources.
+ */
+@RestController
+@RequestMapping("/api/quizzes")
+public class QuizApiController {
+
+    private final LeaderboardService leaderboardService;
+    private final QuestionStatisticsService statisticsService;
+    private final QuizSessionService quizSessionService;
+    private final QuizSearchService searchService;
+    private final QuizService quizService;
+
+    public QuizApiController(LeaderboardService leaderboardService,
+                             QuestionStatisticsService statisticsService,
+                             QuizSessionService quizSessionService,
+                             QuizSearchService searchService,
+                             QuizService quizService) {
+        this.leaderboardService = leaderboardService;
+        this.statisticsService = statisticsService;
+        this.quizSessionService = quizSessionService;
+        this.searchService = searchService;
+        this.quizService = quizService;
+    }
+
+    /**
+     * The quiz as JSON, from the payload cache. Responses carry a strong
+     * ETag and must be revalidated, which costs a 304 without a body while
+     * the quiz is unchanged.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<byte[]> getQuiz(@PathVariable Long id, WebRequest request) {
+        Optional<QuizPayload> payload = quizService.getQuizPayload(id);
+        if (payload.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = payload.get().getETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payload.get().getBody());
+    }
+
+    @GetMapping("/search")
+    public Map<String, Object> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        SearchResults results = searchService.search(q, offset, Math.min(limit, 100));
+        List<Map<String, Object>> hits = new ArrayList<>();
+        for (SearchHit hit : results.getHits()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("quizId", hit.getQuizId());
+            row.put("title", hit.getTitle());
+            row.put("score", Math.round(hit.getScore() * 1000) / 1000.0);
+            hits.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("query", q);
+        response.put("totalHits", results.getTotalHits());
+        response.put("tookMicros", results.getTookNanos() / 1000);
+        response.put("hits", hits);
+        return response;
+    }
+
+    @GetMapping("/{id}/leaderboard")
+    public Map<String, Object> getLeaderboard(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String participant) {
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        int rank = 1;
+        for (LeaderboardEntry entry : leaderboardService.getTop(id, limit)) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("rank", rank++);
+            row.put("participant", entry.getParticipant());
+            row.put("earnedPoints", entry.getEarnedPoints());
+            row.put("percentage", Math.round(entry.getPercentage() * 10) / 10.0);
+            entries.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("quizId", id);
+        response.put("submissions", leaderboardService.getSubmissionCount(id));
+        response.put("entries", entries);
+        if (participant != null && !participant.isBlank()) {
+            response.put("participant", participant);
+            response.put("participantRank", leaderboardService.getRank(id, participant));
+        }
+        return response;
+    }
+
+    @GetMapping("/{id}/statistics")
+    public Map<String, Object> getStatistics(@PathVariable Long id) {
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (QuestionCounters counters : statisticsService.getQuizStatistics(id)) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("questionId", counters.getQuestionId());
+            row.put("attempts", counters.getAttempts());
+            row.put("correct", counters.getCorrect());
+            row.put("unanswered", counters.getUnanswered());
+            row.put("correctRate", Math.round(counters.getCorrectRate() * 10) / 10.0);
+            row.put("answerDistribution", counters.getAnswerDistribution());
+            questions.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("quizId", id);
+        response.put("attempts", statisticsService.getQuizAttemptCount(id));
+        response.put("questions", questions);
+        return response;
+    }
+
+    @GetMapping("/{id}/sessions/{sessionId}")
+    public ResponseEntity<Map<String, Object>> getSession(@PathVariable Long id, @PathVariable String sessionId) {
+        return quizSessionService.getSession(sessionId)
+                .filter(session -> session.getQuizId() == id)
+                .map(session -> {
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("sessionId", session.getId());
+                    response.put("quizId", session.getQuizId());
+                    response.put("state", session.getState());
+                    response.put("expiresAt", session.getExpiresAt().toString());
+                    response.put("remainingMillis", session.getRemainingMillis());
+                    response.put("savedAnswers", session.getSavedAnswers().size());
+                    return ResponseEntity.ok(response);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Saves one answer of a timed attempt so it counts if the session expires.
+     */
+    @PostMapping("/{id}/sessions/{sessionId}/answers")
+    public ResponseEntity<Void> saveAnswer(
+            @PathVariable Long id,
+            @PathVariable String sessionId,
+            @RequestParam long questionId,
+            @RequestParam long answerId) {
+
+        if (quizSessionService.getSession(sessionId).filter(session -> session.getQuizId() == id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return quizSessionService.saveAnswer(sessionId, questionId, answerId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -1,17 +1,28 @@
 package com.quizmaster.controller;
 
-import com.quizmaster.model.QuizAnswer;
 import com.quizmaster.model.QuizEntity;
-import com.quizmaster.model.QuizQuestion;
+import com.quizmaster.model.QuizSummary;
+import com.quizmaster.service.LeaderboardService;
+import com.quizmaster.service.GradingResult;
+import com.quizmaster.service.QuizAttemptService;
+import com.quizmaster.service.QuizBulkDeleteService;
 import com.quizmaster.service.QuizService;
+import com.quizmaster.service.QuizSession;
+import com.quizmaster.service.QuizSessionService;
+import com.quizmaster.util.KeysetPage;
+import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.util.UriUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Web controller for Thymeleaf-based UI.
@@ -20,20 +31,54 @@ import java.util.Map;
 @Controller
 @RequestMapping("/web")
 public class QuizWebController {
+
+    private static final String QUIZ_SESSION_ATTRIBUTE = "quizSession:";
     
     private final QuizService quizService;
+    private final QuizAttemptService quizAttemptService;
+    private final LeaderboardService leaderboardService;
+    private final QuizSessionService quizSessionService;
+    private final QuizBulkDeleteService quizBulkDeleteService;
+    private final int pageSize;
     
     @Autowired
-    public QuizWebController(QuizService quizService) {
+    public QuizWebController(QuizService quizService,
+                             QuizAttemptService quizAttemptService,
+                             LeaderboardService leaderboardService,
+                             QuizSessionService quizSessionService,
+                             QuizBulkDeleteService quizBulkDeleteService,
+                             @Value("${quizmaster.pagination.page-size:24}") int pageSize) {
         this.quizService = quizService;
+        this.quizAttemptService = quizAttemptService;
+        this.leaderboardService = leaderboardService;
+        this.quizSessionService = quizSessionService;
+        this.quizBulkDeleteService = quizBulkDeleteService;
+        this.pageSize = pageSize;
     }
 
     @GetMapping({"/", "/quizzes"})
-    public String listQuizzes(Model model) {
-        model.addAttribute("quizzes", quizService.getAllQuizzes());
+    public String listQuizzes(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort,
+            Model model) {
+
+        boolean newest = "newest".equals(sort);
+        try {
+            addPage(model, newest
+                    ? quizService.getNewestQuizSummaryPage(after, pageSize)
+                    : quizService.getQuizSummaryPage(after, pageSize));
+        } catch (IllegalArgumentException e) {
+            return "redirect:/web/quizzes";
+        }
+        model.addAttribute("sort", newest ? "newest" : null);
         return "quiz-list";
     }
 
+    private void addPage(Model model, KeysetPage<QuizSummary> page) {
+        model.addAttribute("quizzes", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+    }
+
     @GetMapping("/quiz/{id}")
     public String viewQuiz(@PathVariable Long id, Model model) {
         return quizService.getQuizById(id)
@@ -45,11 +90,23 @@ public class QuizWebController {
     }
 
     @GetMapping("/quiz/{id}/take")
-    public String takeQuiz(@PathVariable Long id, Model model) {
+    public String takeQuiz(@PathVariable Long id, HttpSession session, Model model) {
         return quizService.getQuizById(id)
                 .map(quiz -> {
                     model.addAttribute("quiz", quiz);
                     model.addAttribute("userAnswers", new HashMap<Long, Long>());
+                    model.addAttribute("participantName", session.getAttribute("participantName"));
+                    if (quiz.getTimeLimit() > 0) {
+                        String attribute = QUIZ_SESSION_ATTRIBUTE + id;
+                        quizSessionService.resume((String) session.getAttribute(attribute), id,
+                                        resolveParticipant(null, session))
+                                .ifPresent(quizSession -> {
+                                    session.setAttribute(attribute, quizSession.getId());
+                                    model.addAttribute("sessionId", quizSession.getId());
+                                    model.addAttribute("remainingMillis", quizSession.getRemainingMillis());
+                                    model.addAttribute("userAnswers", quizSession.getSavedAnswers());
+                                });
+                    }
                     return "take-quiz";
                 })
                 .orElse("redirect:/web/quizzes");
@@ -59,50 +116,68 @@ public class QuizWebController {
     public String submitQuiz(
             @PathVariable Long id,
             @RequestParam Map<String, String> allParams,
+            HttpSession session,
             Model model) {
         
-        return quizService.getQuizById(id)
-                .map(quiz -> {
-                    int correctAnswers = 0;
-                    int totalPoints = 0;
-                    int earnedPoints = 0;
-                    
-                    Map<Long, Boolean> results = new HashMap<>();
-                    
-                    for (QuizQuestion question : quiz.getQuestions()) {
-                        totalPoints += question.getPoints();
-                        String answerParam = "question_" + question.getId();
-                        
-                        if (allParams.containsKey(answerParam)) {
-                            Long selectedAnswerId = Long.parseLong(allParams.get(answerParam));
-                            boolean isCorrect = question.checkAnswer(selectedAnswerId);
-                            results.put(question.getId(), isCorrect);
-                            
-                            if (isCorrect) {
-                                correctAnswers++;
-                                earnedPoints += question.getPoints();
-                            }
-                        } else {
-                            results.put(question.getId(), false);
-                        }
-                    }
-                    
-                    double percentage = totalPoints > 0 ? 
-                        (earnedPoints * 100.0) / totalPoints : 0;
-                    
+        String participant = resolveParticipant(allParams.get("participantName"), session);
+        Optional<GradingResult> graded;
+        boolean expired = false;
+        if (quizSessionService.isTimed(id)) {
+            Optional<QuizSession> quizSession = quizSessionService.submit(
+                    id, allParams.get("sessionId"), participant, allParams);
+            if (quizSession.isEmpty()) {
+                // timed quizzes are only graded through the session started on the take page
+                return "redirect:/web/quiz/" + id + "/take";
+            }
+            session.removeAttribute(QUIZ_SESSION_ATTRIBUTE + id);
+            expired = quizSession.get().isExpired();
+            if (expired) {
+                participant = quizSession.get().getParticipant();
+            }
+            graded = Optional.ofNullable(quizSession.get().getResult());
+        } else {
+            graded = quizAttemptService.submit(id, participant, allParams);
+        }
+
+        String rankedParticipant = participant;
+        boolean timeExpired = expired;
+        return graded
+                .flatMap(result -> quizService.getQuizById(id).map(quiz -> {
                     model.addAttribute("quiz", quiz);
-                    model.addAttribute("results", results);
-                    model.addAttribute("correctAnswers", correctAnswers);
+                    model.addAttribute("results", result.toResultMap());
+                    model.addAttribute("correctAnswers", result.getCorrectAnswers());
                     model.addAttribute("totalQuestions", quiz.getQuestionCount());
-                    model.addAttribute("earnedPoints", earnedPoints);
-                    model.addAttribute("totalPoints", totalPoints);
-                    model.addAttribute("percentage", String.format("%.1f", percentage));
+                    model.addAttribute("earnedPoints", result.getEarnedPoints());
+                    model.addAttribute("totalPoints", result.getTotalPoints());
+                    model.addAttribute("percentage", String.format("%.1f", result.getPercentage()));
+                    model.addAttribute("percentageValue", result.getPercentage());
+                    model.addAttribute("participant", rankedParticipant);
+                    model.addAttribute("participantRank", leaderboardService.getRank(id, rankedParticipant));
+                    model.addAttribute("timeExpired", timeExpired);
+                    model.addAttribute("leaderboard", leaderboardService.getTop(id, 10));
+                    model.addAttribute("leaderboardSize", leaderboardService.getCapacity());
                     
                     return "quiz-results";
-                })
+                }))
                 .orElse("redirect:/web/quizzes");
     }
 
+    private String resolveParticipant(String participantName, HttpSession session) {
+        if (participantName != null && !participantName.isBlank()) {
+            String name = participantName.trim();
+            if (name.length() > 100) {
+                name = name.substring(0, 100);
+            }
+            session.setAttribute("participantName", name);
+            return name;
+        }
+        Object remembered = session.getAttribute("participantName");
+        if (remembered instanceof String name) {
+            return name;
+        }
+        return "Guest-" + session.getId().substring(0, 6);
+    }
+
     @GetMapping("/quiz/create")
     public String showCreateForm(Model model) {
         model.addAttribute("quiz", new QuizEntity());
@@ -123,14 +198,18 @@ public class QuizWebController {
     @GetMapping("/search")
     public String searchQuizzes(
             @RequestParam(required = false) String title,
+            @RequestParam(required = false) String after,
             Model model) {
         
-        if (title != null && !title.trim().isEmpty()) {
-            model.addAttribute("quizzes", quizService.searchQuizzesByTitle(title));
-            model.addAttribute("searchTerm", title);
-        } else {
-            model.addAttribute("quizzes", quizService.getAllQuizzes());
+        if (title == null || title.trim().isEmpty()) {
+            return "redirect:/web/quizzes";
+        }
+        try {
+            addPage(model, quizService.searchQuizSummaryPage(title.trim(), after, pageSize));
+        } catch (IllegalArgumentException e) {
+            return "redirect:/web/search?title=" + UriUtils.encodeQueryParam(title, StandardCharsets.UTF_8);
         }
+        model.addAttribute("searchTerm", title);
         
         return "quiz-list";
     }
@@ -140,7 +219,7 @@ public class QuizWebController {
             @PathVariable Long id,
             RedirectAttributes redirectAttributes) {
         
-        if (quizService.deleteQuiz(id)) {
+        if (quizBulkDeleteService.deleteQuiz(id)) {
             redirectAttributes.addFlashAttribute("message", 
                 "Quiz deleted successfully!");
         } else {
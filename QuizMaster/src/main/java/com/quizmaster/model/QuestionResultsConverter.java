@@ -0,0 +1,44 @@
+package com.quizmaster.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores a question id to correctness map as a compact string, e.g. {@code "12:1,13:0"}.
+ */
+@Converter
+public class QuestionResultsConverter implements AttributeConverter<Map<Long, Boolean>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Map<Long, Boolean> results) {
+        if (results == null || results.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(results.size() * 8);
+        for (Map.Entry<Long, Boolean> entry : results.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(entry.getKey()).append(':').append(Boolean.TRUE.equals(entry.getValue()) ? '1' : '0');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public Map<Long, Boolean> convertToEntityAttribute(String column) {
+        Map<Long, Boolean> results = new LinkedHashMap<>();
+        if (column == null || column.isEmpty()) {
+            return results;
+        }
+        for (String pair : column.split(",")) {
+            int separator = pair.indexOf(':');
+            if (separator > 0) {
+                results.put(Long.parseLong(pair.substring(0, separator)), pair.charAt(separator + 1) == '1');
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,99 @@
+package com.quizmaster.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpointed answer statistics for one question.
+ * Live counters are kept in memory; this row is their last persisted state.
+ */
+@Entity
+@Table(name = "question_statistics", indexes = {
+        @Index(name = "idx_question_statistics_quiz", columnList = "quiz_id")
+})
+public class QuestionStatistic {
+
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(nullable = false)
+    private long attempts;
+
+    @Column(name = "correct_count", nullable = false)
+    private long correctCount;
+
+    @Column(nullable = false)
+    private long unanswered;
+
+    // "answerId:count,answerId:count"
+    @Lob
+    @Column(name = "answer_counts")
+    private String answerCounts;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public QuestionStatistic() {
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(long attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getCorrectCount() {
+        return correctCount;
+    }
+
+    public void setCorrectCount(long correctCount) {
+        this.correctCount = correctCount;
+    }
+
+    public long getUnanswered() {
+        return unanswered;
+    }
+
+    public void setUnanswered(long unanswered) {
+        this.unanswered = unanswered;
+    }
+
+    public String getAnswerCounts() {
+        return answerCounts;
+    }
+
+    public void setAnswerCounts(String answerCounts) {
+        this.answerCounts = answerCounts;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,6 +1,8 @@
 package com.quizmaster.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 /**
@@ -9,12 +11,15 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  * Annotated for Hibernate persistence.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quizmaster.answer")
 @Table(name = "answers")
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class QuizAnswer implements Answer {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answers_seq")
+    @SequenceGenerator(name = "answers_seq", sequenceName = "answers_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 500)
@@ -0,0 +1,162 @@
+package com.quizmaster.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A graded quiz submission.
+ * Rows are written in JDBC batches by the attempt write-behind queue,
+ * the entity mapping is used for schema generation and reads.
+ */
+@Entity
+@Table(name = "quiz_attempts", indexes = {
+        @Index(name = "idx_quiz_attempts_quiz", columnList = "quiz_id, submitted_at")
+})
+public class QuizAttempt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(length = 100)
+    private String participant;
+
+    @Column(name = "correct_answers", nullable = false)
+    private int correctAnswers;
+
+    @Column(name = "total_questions", nullable = false)
+    private int totalQuestions;
+
+    @Column(name = "earned_points", nullable = false)
+    private int earnedPoints;
+
+    @Column(name = "total_points", nullable = false)
+    private int totalPoints;
+
+    @Column(nullable = false)
+    private double percentage;
+
+    @Lob
+    @Convert(converter = QuestionResultsConverter.class)
+    @Column(name = "results")
+    private Map<Long, Boolean> results;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    public QuizAttempt() {
+        this.results = new LinkedHashMap<>();
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public QuizAttempt(Long quizId, String participant, int correctAnswers, int totalQuestions,
+                       int earnedPoints, int totalPoints, Map<Long, Boolean> results) {
+        this();
+        this.quizId = quizId;
+        this.participant = participant;
+        this.correctAnswers = correctAnswers;
+        this.totalQuestions = totalQuestions;
+        this.earnedPoints = earnedPoints;
+        this.totalPoints = totalPoints;
+        this.percentage = totalPoints > 0 ? (earnedPoints * 100.0) / totalPoints : 0;
+        this.results = results;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public String getParticipant() {
+        return participant;
+    }
+
+    public void setParticipant(String participant) {
+        this.participant = participant;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public void setCorrectAnswers(int correctAnswers) {
+        this.correctAnswers = correctAnswers;
+    }
+
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public void setTotalQuestions(int totalQuestions) {
+        this.totalQuestions = totalQuestions;
+    }
+
+    public int getEarnedPoints() {
+        return earnedPoints;
+    }
+
+    public void setEarnedPoints(int earnedPoints) {
+        this.earnedPoints = earnedPoints;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public void setTotalPoints(int totalPoints) {
+        this.totalPoints = totalPoints;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(double percentage) {
+        this.percentage = percentage;
+    }
+
+    public Map<Long, Boolean> getResults() {
+        return results;
+    }
+
+    public void setResults(Map<Long, Boolean> results) {
+        this.results = results;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "QuizAttempt{" +
+                "id=" + id +
+                ", quizId=" + quizId +
+                ", participant='" + participant + '\'' +
+                ", earnedPoints=" + earnedPoints +
+                ", totalPoints=" + totalPoints +
+                ", submittedAt=" + submittedAt +
+                '}';
+    }
+}
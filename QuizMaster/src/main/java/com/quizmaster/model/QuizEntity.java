@@ -1,11 +1,14 @@
 package com.quizmaster.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Concrete implementation of Quiz interface.
@@ -13,13 +16,26 @@ import java.util.List;
  * Entity class for Hibernate persistence.
  */
 @Entity
-@Table(name = "quizzes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quizmaster.quiz")
+@Table(name = "quizzes", indexes = {
+        @Index(name = "idx_quizzes_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_quizzes_total_points", columnList = "total_points"),
+        @Index(name = "idx_quizzes_question_count", columnList = "question_count"),
+        @Index(name = "idx_quizzes_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_quizzes_title", columnList = "title")
+})
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class QuizEntity implements Quiz {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quizzes_seq")
+    @SequenceGenerator(name = "quizzes_seq", sequenceName = "quizzes_seq", allocationSize = 50)
     private Long id;
+
+    // Stable identity across databases, kept by delta imports; ids are local
+    @Column(nullable = false, unique = true, updatable = false, length = 36)
+    private String uid;
     
     @Column(nullable = false, length = 200)
     private String title;
@@ -35,9 +51,19 @@ public class QuizEntity implements Quiz {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Denormalized aggregates of the questions collection, maintained by
+    // addQuestion, removeQuestion and QuizQuestion.setPoints
+    @Column(name = "total_points", nullable = false)
+    private int totalPoints;
+
+    @Column(name = "question_count", nullable = false)
+    private int questionCount;
     
-    // One quiz has many questions - bidirectional relationship
+    // One quiz has many questions - bidirectional relationship, in creation order
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quizmaster.quiz.questions")
     @JsonManagedReference
     private List<QuizQuestion> questions;
 
@@ -92,21 +118,48 @@ public class QuizEntity implements Quiz {
         if (question instanceof QuizQuestion quizQuestion) {
             questions.add(quizQuestion);
             quizQuestion.setQuiz(this);
+            questionCount++;
+            totalPoints += quizQuestion.getPoints();
             this.updatedAt = LocalDateTime.now();
         }
     }
 
     public void removeQuestion(QuizQuestion question) {
-        questions.remove(question);
+        if (questions.remove(question)) {
+            questionCount--;
+            totalPoints -= question.getPoints();
+        }
         question.setQuiz(null);
         this.updatedAt = LocalDateTime.now();
     }
+
+    void questionPointsChanged(int delta) {
+        totalPoints += delta;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    void prePersist() {
+        if (uid == null) {
+            uid = UUID.randomUUID().toString();
+        }
+        recalculateAggregates();
+    }
+
+    /**
+     * Recomputes the stored aggregates from the questions collection, for
+     * graphs built without going through {@link #addQuestion}.
+     */
+    public void recalculateAggregates() {
+        questionCount = questions.size();
+        totalPoints = questions.stream()
+                .mapToInt(Question::getPoints)
+                .sum();
+    }
     
     @Override
     public int getTotalPoints() {
-        return questions.stream()
-                .mapToInt(Question::getPoints)
-                .sum();
+        return totalPoints;
     }
     
     @Override
@@ -117,6 +170,14 @@ public class QuizEntity implements Quiz {
     public void setId(Long id) {
         this.id = id;
     }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
     
     @Override
     public int getTimeLimit() {
@@ -125,6 +186,7 @@ public class QuizEntity implements Quiz {
     
     public void setTimeLimit(int timeLimit) {
         this.timeLimit = timeLimit;
+        this.updatedAt = LocalDateTime.now();
     }
     
     public LocalDateTime getCreatedAt() {
@@ -144,7 +206,22 @@ public class QuizEntity implements Quiz {
     }
 
     public int getQuestionCount() {
-        return questions.size();
+        return questionCount;
+    }
+
+    /**
+     * Clears the ids of the quiz, its questions and answers, and the uid, so
+     * the graph is persisted as a new quiz, e.g. after reading it from an export.
+     * The new row counts as changed now, so delta exports pick it up.
+     */
+    public void clearIds() {
+        this.id = null;
+        this.uid = null;
+        this.updatedAt = LocalDateTime.now();
+        questions.forEach(question -> {
+            question.setId(null);
+            question.getAnswers().forEach(answer -> answer.setId(null));
+        });
     }
 
     public boolean isValid() {
@@ -157,8 +234,8 @@ public class QuizEntity implements Quiz {
         return "QuizEntity{" +
                 "id=" + id +
                 ", title='" + title + '\'' +
-                ", questionCount=" + questions.size() +
-                ", totalPoints=" + getTotalPoints() +
+                ", questionCount=" + questionCount +
+                ", totalPoints=" + totalPoints +
                 ", timeLimit=" + timeLimit +
                 '}';
     }
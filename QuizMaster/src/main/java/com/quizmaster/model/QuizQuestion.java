@@ -1,9 +1,13 @@
 package com.quizmaster.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,11 +18,15 @@ import java.util.List;
  * Uses Hibernate for persistence.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quizmaster.question")
 @Table(name = "questions")
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class QuizQuestion implements Question {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 1000)
@@ -33,6 +41,9 @@ public class QuizQuestion implements Question {
     private DifficultyLevel difficulty;
 
     @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id") // creation order, which delta imports match answers by
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quizmaster.question.answers")
+    @BatchSize(size = 50) // one query for the answers of a whole quiz
     @JsonManagedReference
     private List<QuizAnswer> answers;
 
@@ -94,6 +105,9 @@ public class QuizQuestion implements Question {
 
     @Override
     public void setPoints(int points) {
+        if (quiz != null && points != this.points) {
+            quiz.questionPointsChanged(points - this.points);
+        }
         this.points = points;
     }
 
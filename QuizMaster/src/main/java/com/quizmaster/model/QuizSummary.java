@@ -0,0 +1,70 @@
+package com.quizmaster.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a quiz for list views.
+ * Built directly from the quizzes row, so rendering a list never loads
+ * questions or answers.
+ */
+public class QuizSummary {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final int questionCount;
+    private final int totalPoints;
+    private final int timeLimit;
+    private final LocalDateTime createdAt;
+
+    public QuizSummary(Long id, String title, String description,
+                       Integer questionCount, Integer totalPoints, Integer timeLimit,
+                       LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.questionCount = questionCount != null ? questionCount : 0;
+        this.totalPoints = totalPoints != null ? totalPoints : 0;
+        this.timeLimit = timeLimit != null ? timeLimit : 0;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public int getTimeLimit() {
+        return timeLimit;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "QuizSummary{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", questionCount=" + questionCount +
+                ", totalPoints=" + totalPoints +
+                ", timeLimit=" + timeLimit +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.quizmaster.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted quiz, so delta exports can tell replicas to delete it too.
+ * There is at most one per uid, and none for a uid that exists as a quiz.
+ */
+@Entity
+@Table(name = "quiz_tombstones", indexes = {
+        @Index(name = "idx_quiz_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class QuizTombstone {
+
+    @Id
+    @Column(name = "quiz_uid", length = 36)
+    private String uid;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public QuizTombstone() {
+    }
+
+    public QuizTombstone(String uid, LocalDateTime deletedAt) {
+        this.uid = uid;
+        this.deletedAt = deletedAt;
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
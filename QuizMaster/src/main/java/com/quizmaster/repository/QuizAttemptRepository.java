@@ -0,0 +1,19 @@
+package com.quizmaster.repository;
+
+import com.quizmaster.model.QuizAttempt;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for persisted quiz attempts.
+ */
+@Repository
+public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
+
+    List<QuizAttempt> findByQuizIdOrderBySubmittedAtDesc(Long quizId, Limit limit);
+
+    long countByQuizId(Long quizId);
+}
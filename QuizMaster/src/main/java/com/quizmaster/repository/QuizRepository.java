@@ -1,38 +1,158 @@
 package com.quizmaster.repository;
 
 import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Quiz entities.
  * Demonstrates Database integration with Spring Data JPA (Requirement 6).
  * Provides CRUD operations and custom queries.
+ * Finders marked cacheable are served from the Hibernate query cache until
+ * the quizzes or questions tables change.
  */
 @Repository
 public interface QuizRepository extends JpaRepository<QuizEntity, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<QuizEntity> findByTitleContainingIgnoreCase(String title);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<QuizEntity> findByTitle(String title);
 
-    @Query("SELECT q FROM QuizEntity q WHERE SIZE(q.questions) >= :minQuestions")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT q FROM QuizEntity q WHERE q.questionCount >= :minQuestions")
     List<QuizEntity> findQuizzesWithMinimumQuestions(@Param("minQuestions") int minQuestions);
 
-    @Query("SELECT q FROM QuizEntity q WHERE " +
-           "(SELECT SUM(qu.points) FROM q.questions qu) BETWEEN :minPoints AND :maxPoints")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT q FROM QuizEntity q WHERE q.totalPoints BETWEEN :minPoints AND :maxPoints")
     List<QuizEntity> findQuizzesByPointsRange(
         @Param("minPoints") int minPoints,
         @Param("maxPoints") int maxPoints
     );
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<QuizEntity> findAllByOrderByCreatedAtDesc();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(q) FROM QuizEntity q WHERE q.timeLimit > 0")
     long countTimedQuizzes();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT q FROM QuizEntity q WHERE q.createdAt < :createdAt " +
+           "OR (q.createdAt = :createdAt AND q.id < :id) ORDER BY q.createdAt DESC, q.id DESC")
+    List<QuizEntity> findCreatedBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<QuizEntity> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<QuizEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Row lock for read-modify-write of the stored aggregates
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q FROM QuizEntity q WHERE q.id = :id")
+    Optional<QuizEntity> findByIdForUpdate(@Param("id") Long id);
+
+    // Bulk delete: ids are selected in keyset chunks, then removed set-based in FK order
+    @Query("SELECT q.id FROM QuizEntity q WHERE LOWER(q.title) LIKE LOWER(:pattern) AND q.id > :afterId ORDER BY q.id")
+    List<Long> findIdsByTitleLike(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT q.id FROM QuizEntity q WHERE q.createdAt < :cutoff AND q.id > :afterId ORDER BY q.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM QuizAnswer a WHERE a.question.id IN " +
+           "(SELECT qu.id FROM QuizQuestion qu WHERE qu.quiz.id IN :quizIds)")
+    int deleteAnswersByQuizIds(@Param("quizIds") List<Long> quizIds);
+
+    @Modifying
+    @Query("DELETE FROM QuizQuestion qu WHERE qu.quiz.id IN :quizIds")
+    int deleteQuestionsByQuizIds(@Param("quizIds") List<Long> quizIds);
+
+    @Modifying
+    @Query("DELETE FROM QuestionStatistic s WHERE s.quizId IN :quizIds")
+    int deleteStatisticsByQuizIds(@Param("quizIds") List<Long> quizIds);
+
+    @Modifying
+    @Query("DELETE FROM QuestionStatistic s WHERE s.questionId IN :questionIds")
+    int deleteStatisticsByQuestionIds(@Param("questionIds") List<Long> questionIds);
+
+    @Modifying
+    @Query("DELETE FROM QuizEntity q WHERE q.id IN :quizIds")
+    int deleteByIds(@Param("quizIds") List<Long> quizIds);
+
+    /**
+     * Streams every quiz in id order for batch jobs. Must be consumed and
+     * closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    @Query("SELECT q FROM QuizEntity q ORDER BY q.id")
+    Stream<QuizEntity> streamAllOrderById();
+
+    // Delta export: changes in the watermark window (since, until]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    @Query("SELECT q FROM QuizEntity q WHERE q.updatedAt > :since AND q.updatedAt <= :until " +
+           "ORDER BY q.updatedAt, q.id")
+    Stream<QuizEntity> streamUpdatedBetween(@Param("since") LocalDateTime since,
+                                            @Param("until") LocalDateTime until);
+
+    // Import dedupe: titles of the whole catalog, then the quizzes behind a title that repeats
+    @Query("SELECT q.title FROM QuizEntity q")
+    List<String> findAllTitles();
+
+    @Query("SELECT q FROM QuizEntity q WHERE q.title = :title ORDER BY q.id")
+    Stream<QuizEntity> streamByTitle(@Param("title") String title);
+
+    @Query("SELECT q FROM QuizEntity q WHERE q.uid IN :uids")
+    List<QuizEntity> findByUidIn(@Param("uids") Collection<String> uids);
+
+    // Counts and points are stored on the quiz row, so a summary never touches questions
+    String SUMMARY_SELECT =
+            "SELECT new com.quizmaster.model.QuizSummary(q.id, q.title, q.description, " +
+            "q.questionCount, q.totalPoints, q.timeLimit, q.createdAt) FROM QuizEntity q ";
+
+    String TITLE_MATCHES = "LOWER(q.title) LIKE LOWER(CONCAT('%', :title, '%'))";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "ORDER BY q.id")
+    List<QuizSummary> findAllSummaries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE " + TITLE_MATCHES + " ORDER BY q.id")
+    List<QuizSummary> findSummariesByTitle(@Param("title") String title);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE q.id > :afterId ORDER BY q.id")
+    List<QuizSummary> findSummariesAfterId(@Param("afterId") long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE q.id IN :ids")
+    List<QuizSummary> findSummariesByIds(@Param("ids") List<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "ORDER BY q.createdAt DESC, q.id DESC")
+    List<QuizSummary> findNewestSummaries(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE q.createdAt < :createdAt " +
+           "OR (q.createdAt = :createdAt AND q.id < :id) ORDER BY q.createdAt DESC, q.id DESC")
+    List<QuizSummary> findSummariesCreatedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") long id, Limit limit);
 }
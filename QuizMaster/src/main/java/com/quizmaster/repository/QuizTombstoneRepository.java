@@ -0,0 +1,36 @@
+package com.quizmaster.repository;
+
+import com.quizmaster.model.QuizTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tombstones of deleted quizzes, read by delta exports.
+ */
+@Repository
+public interface QuizTombstoneRepository extends JpaRepository<QuizTombstone, String> {
+
+    @Query("SELECT t FROM QuizTombstone t WHERE t.deletedAt > :since AND t.deletedAt <= :until " +
+           "ORDER BY t.deletedAt, t.uid")
+    List<QuizTombstone> findDeletedBetween(@Param("since") LocalDateTime since,
+                                           @Param("until") LocalDateTime until);
+
+    /**
+     * Records the quizzes about to be deleted; must run before they are.
+     */
+    @Modifying
+    @Query("INSERT INTO QuizTombstone (uid, deletedAt) " +
+           "SELECT q.uid, :deletedAt FROM QuizEntity q WHERE q.id IN :quizIds")
+    int recordDeletes(@Param("quizIds") List<Long> quizIds, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("DELETE FROM QuizTombstone t WHERE t.uid IN :uids")
+    int deleteByUids(@Param("uids") Collection<String> uids);
+}
@@ -0,0 +1,52 @@
+package com.quizmaster.search;
+
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached copy of the searchable text of one quiz, taken inside the
+ * writing transaction and applied to the index after commit.
+ */
+public class IndexedQuiz {
+
+    private final long quizId;
+    private final String title;
+    private final List<String> questionTexts = new ArrayList<>();
+    private final List<String> answerTexts = new ArrayList<>();
+
+    private IndexedQuiz(long quizId, String title) {
+        this.quizId = quizId;
+        this.title = title;
+    }
+
+    public static IndexedQuiz of(QuizEntity quiz) {
+        IndexedQuiz indexed = new IndexedQuiz(quiz.getId(), quiz.getTitle());
+        for (QuizQuestion question : quiz.getQuestions()) {
+            indexed.questionTexts.add(question.getQuestionText());
+            for (QuizAnswer answer : question.getAnswers()) {
+                indexed.answerTexts.add(answer.getAnswerText());
+            }
+        }
+        return indexed;
+    }
+
+    public long getQuizId() {
+        return quizId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<String> getQuestionTexts() {
+        return questionTexts;
+    }
+
+    public List<String> getAnswerTexts() {
+        return answerTexts;
+    }
+}
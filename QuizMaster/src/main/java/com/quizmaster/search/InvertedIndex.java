@@ -0,0 +1,388 @@
+package com.quizmaster.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Term and trigram inverted index over quiz titles, question texts and
+ * answer texts, scored with BM25 and aggregated per quiz.
+ * Not thread-safe; {@link QuizSearchService} guards it with a read/write lock.
+ */
+class InvertedIndex {
+
+    static final byte TITLE = 0;
+    static final byte QUESTION = 1;
+    static final byte ANSWER = 2;
+
+    private static final float[] FIELD_WEIGHTS = {3.0f, 1.5f, 1.0f};
+    private static final float EXACT_WEIGHT = 1.0f;
+    private static final float PREFIX_WEIGHT = 0.8f;
+    private static final float INFIX_WEIGHT = 0.5f;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // documents, indexed by doc id; ids are never reused
+    private int docCount;
+    private byte[] kinds = new byte[1024];
+    private int[] docQuiz = new int[1024];     // quiz ordinal
+    private int[] lengths = new int[1024];
+    private Term[][] docTerms = new Term[1024][];
+    private final BitSet live = new BitSet();
+    private int liveDocs;
+    private long liveLength;
+    private long livePostings;
+    private long deadPostings;
+
+    // quizzes, indexed by ordinal
+    private final Map<Long, Integer> quizOrdinals = new HashMap<>();
+    private long[] quizIds = new long[256];
+    private String[] titles = new String[256];
+    private int[][] quizDocs = new int[256][];
+    private int[] quizDocCounts = new int[256];
+
+    private final TreeMap<String, Term> terms = new TreeMap<>();
+    private final Map<String, Set<Term>> trigrams = new HashMap<>();
+
+    void addQuiz(long quizId, String title) {
+        int ordinal = ordinal(quizId);
+        titles[ordinal] = title;
+        addDocument(ordinal, TITLE, title);
+    }
+
+    void addQuestion(long quizId, String text) {
+        addDocument(ordinal(quizId), QUESTION, text);
+    }
+
+    void addAnswer(long quizId, String text) {
+        addDocument(ordinal(quizId), ANSWER, text);
+    }
+
+    void replaceQuiz(IndexedQuiz quiz) {
+        removeQuiz(quiz.getQuizId());
+        addQuiz(quiz.getQuizId(), quiz.getTitle());
+        quiz.getQuestionTexts().forEach(text -> addQuestion(quiz.getQuizId(), text));
+        quiz.getAnswerTexts().forEach(text -> addAnswer(quiz.getQuizId(), text));
+    }
+
+    void removeQuiz(long quizId) {
+        Integer ordinal = quizOrdinals.get(quizId);
+        if (ordinal == null) {
+            return;
+        }
+        int[] docs = quizDocs[ordinal];
+        for (int i = 0; i < quizDocCounts[ordinal]; i++) {
+            removeDocument(docs[i]);
+        }
+        quizDocs[ordinal] = null;
+        quizDocCounts[ordinal] = 0;
+        titles[ordinal] = null;
+        if (deadPostings > livePostings) {
+            compact();
+        }
+    }
+
+    int getDocumentCount() {
+        return liveDocs;
+    }
+
+    int getTermCount() {
+        return terms.size();
+    }
+
+    /**
+     * Ranks quizzes matching every query term, as an exact term, a term
+     * prefix or (for terms of three or more characters) a substring.
+     * Hits are ordered by score, highest first, then by quiz id.
+     *
+     * @param limit number of top hits to return
+     */
+    SearchResults search(String query, int offset, int limit) {
+        return search(query, offset, null, limit);
+    }
+
+    /**
+     * Like {@link #search(String, int, int)}, for the hits ranked after
+     * {@code after}; the total still counts every match.
+     */
+    SearchResults search(String query, SearchCursor after, int limit) {
+        return search(query, 0, after, limit);
+    }
+
+    private SearchResults search(String query, int offset, SearchCursor after, int limit) {
+        long start = System.nanoTime();
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query)));
+        if (tokens.isEmpty() || liveDocs == 0) {
+            return new SearchResults(Collections.emptyList(), 0, System.nanoTime() - start);
+        }
+        if (tokens.size() > MAX_QUERY_TERMS) {
+            tokens = tokens.subList(0, MAX_QUERY_TERMS);
+        }
+
+        int quizCount = quizOrdinals.size();
+        float[] scores = new float[quizCount];
+        int[] masks = new int[quizCount];
+        int[] touched = new int[64];
+        int touchedCount = 0;
+        float averageLength = (float) liveLength / liveDocs;
+
+        for (int t = 0; t < tokens.size(); t++) {
+            int bit = 1 << t;
+            for (Map.Entry<Term, Float> expansion : expand(tokens.get(t)).entrySet()) {
+                Term term = expansion.getKey();
+                float idf = (float) Math.log(1 + (liveDocs - term.docFreq + 0.5) / (term.docFreq + 0.5));
+                float weight = expansion.getValue() * idf;
+                for (int p = 0; p < term.size; p++) {
+                    int doc = term.docs[p];
+                    if (!live.get(doc)) {
+                        continue;
+                    }
+                    int tf = term.freqs[p];
+                    float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    float score = weight * FIELD_WEIGHTS[kinds[doc]] * tf * (K1 + 1) / (tf + norm);
+                    int quiz = docQuiz[doc];
+                    if (masks[quiz] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = quiz;
+                    }
+                    masks[quiz] |= bit;
+                    scores[quiz] += score;
+                }
+            }
+        }
+
+        int required = (1 << tokens.size()) - 1;
+        int wanted = offset + limit;
+        // worst first: lower score, then higher id
+        Comparator<Integer> rank = (a, b) -> {
+            int byScore = Float.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Long.compare(quizIds[b], quizIds[a]);
+        };
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, wanted), rank);
+        int total = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int quiz = touched[i];
+            if (masks[quiz] != required) {
+                continue;
+            }
+            total++;
+            if (wanted == 0 || (after != null && !after.precedes(scores[quiz], quizIds[quiz]))) {
+                continue;
+            }
+            if (top.size() < wanted) {
+                top.add(quiz);
+            } else if (rank.compare(quiz, top.peek()) > 0) {
+                top.poll();
+                top.add(quiz);
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int quiz = top.poll();
+            hits.add(new SearchHit(quizIds[quiz], titles[quiz], scores[quiz]));
+        }
+        Collections.reverse(hits);
+        List<SearchHit> page = offset >= hits.size()
+                ? Collections.emptyList()
+                : hits.subList(offset, hits.size());
+        return new SearchResults(new ArrayList<>(page), total, System.nanoTime() - start);
+    }
+
+    private Map<Term, Float> expand(String token) {
+        Map<Term, Float> expansions = new LinkedHashMap<>();
+        Term exact = terms.get(token);
+        if (exact != null) {
+            expansions.put(exact, EXACT_WEIGHT);
+        }
+        for (Term term : terms.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            if (expansions.size() >= MAX_EXPANSIONS) {
+                return expansions;
+            }
+            expansions.put(term, PREFIX_WEIGHT);
+        }
+        List<String> grams = TextTokenizer.trigrams(token);
+        if (grams.isEmpty()) {
+            return expansions;
+        }
+        // intersect starting from the rarest trigram
+        Set<Term> smallest = null;
+        for (String gram : grams) {
+            Set<Term> candidates = trigrams.get(gram);
+            if (candidates == null) {
+                return expansions;
+            }
+            if (smallest == null || candidates.size() < smallest.size()) {
+                smallest = candidates;
+            }
+        }
+        for (Term term : smallest) {
+            if (expansions.size() >= MAX_EXPANSIONS) {
+                break;
+            }
+            if (!expansions.containsKey(term) && term.text.contains(token)) {
+                expansions.put(term, INFIX_WEIGHT);
+            }
+        }
+        return expansions;
+    }
+
+    private int ordinal(long quizId) {
+        Integer existing = quizOrdinals.get(quizId);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = quizOrdinals.size();
+        if (ordinal == quizIds.length) {
+            int capacity = ordinal * 2;
+            quizIds = Arrays.copyOf(quizIds, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            quizDocs = Arrays.copyOf(quizDocs, capacity);
+            quizDocCounts = Arrays.copyOf(quizDocCounts, capacity);
+        }
+        quizIds[ordinal] = quizId;
+        quizOrdinals.put(quizId, ordinal);
+        return ordinal;
+    }
+
+    private void addDocument(int quiz, byte kind, String text) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        int doc = docCount++;
+        if (doc == kinds.length) {
+            int capacity = doc * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            docQuiz = Arrays.copyOf(docQuiz, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+        }
+        kinds[doc] = kind;
+        docQuiz[doc] = quiz;
+        lengths[doc] = tokens.size();
+
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        Term[] postedTerms = new Term[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Term term = terms.get(entry.getKey());
+            if (term == null) {
+                term = new Term(entry.getKey());
+                terms.put(term.text, term);
+                for (String gram : TextTokenizer.trigrams(term.text)) {
+                    trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+            }
+            term.append(doc, entry.getValue());
+            postedTerms[i++] = term;
+        }
+        docTerms[doc] = postedTerms;
+
+        live.set(doc);
+        liveDocs++;
+        liveLength += tokens.size();
+        livePostings += postedTerms.length;
+
+        int[] docs = quizDocs[quiz];
+        int count = quizDocCounts[quiz];
+        if (docs == null) {
+            docs = new int[8];
+        } else if (count == docs.length) {
+            docs = Arrays.copyOf(docs, count * 2);
+        }
+        docs[count] = doc;
+        quizDocs[quiz] = docs;
+        quizDocCounts[quiz] = count + 1;
+    }
+
+    private void removeDocument(int doc) {
+        if (!live.get(doc)) {
+            return;
+        }
+        live.clear(doc);
+        liveDocs--;
+        liveLength -= lengths[doc];
+        for (Term term : docTerms[doc]) {
+            term.docFreq--;
+            if (term.docFreq == 0) {
+                // the whole postings list goes with the term
+                deadPostings -= term.size - 1;
+                terms.remove(term.text);
+                for (String gram : TextTokenizer.trigrams(term.text)) {
+                    Set<Term> set = trigrams.get(gram);
+                    if (set != null && set.remove(term) && set.isEmpty()) {
+                        trigrams.remove(gram);
+                    }
+                }
+            } else {
+                deadPostings++;
+            }
+        }
+        livePostings -= docTerms[doc].length;
+        docTerms[doc] = null;
+    }
+
+    /**
+     * Drops postings of removed documents once they outnumber live ones.
+     */
+    private void compact() {
+        for (Term term : terms.values()) {
+            int kept = 0;
+            for (int p = 0; p < term.size; p++) {
+                if (live.get(term.docs[p])) {
+                    term.docs[kept] = term.docs[p];
+                    term.freqs[kept] = term.freqs[p];
+                    kept++;
+                }
+            }
+            term.size = kept;
+        }
+        deadPostings = 0;
+    }
+
+    /**
+     * A dictionary term with its postings list.
+     */
+    private static final class Term {
+
+        final String text;
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+        int docFreq; // live documents only
+
+        Term(String text) {
+            this.text = text;
+        }
+
+        void append(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = frequency;
+            size++;
+            docFreq++;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.quizmaster.search;
+
+import com.quizmaster.model.QuizEntity;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Full-text search over quiz titles, questions and answers.
+ * The index lives in memory, is rebuilt from the database at startup and
+ * is kept current by {@code QuizService}, which hands over a snapshot of
+ * each written quiz to apply once its transaction commits.
+ */
+@Service
+public class QuizSearchService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final JdbcTemplate scanTemplate;
+    private InvertedIndex index = new InvertedIndex();        // guarded by lock
+    private List<Consumer<InvertedIndex>> pendingDuringRebuild; // guarded by lock
+
+    public QuizSearchService(JdbcTemplate jdbcTemplate) {
+        // own template so the fetch size does not leak into other users of the shared one
+        this.scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.scanTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public SearchResults search(String query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, Math.max(0, offset), Math.max(0, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hits ranked after {@code after}, or the first ones if it is null.
+     */
+    public SearchResults search(String query, SearchCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, after, Math.max(0, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes the quiz after the current transaction commits. Must be
+     * called inside the transaction so the questions can be read.
+     */
+    public void indexAfterCommit(QuizEntity quiz) {
+        IndexedQuiz snapshot = IndexedQuiz.of(quiz);
+        afterCommit(target -> target.replaceQuiz(snapshot));
+    }
+
+    public void removeAfterCommit(long quizId) {
+        afterCommit(target -> target.removeQuiz(quizId));
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return index.getDocumentCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return index.getTermCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<InvertedIndex> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private void apply(Consumer<InvertedIndex> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a fresh index from the database and swaps it in. Searches keep
+     * using the old index meanwhile; updates committed during the rebuild
+     * are replayed onto the new one before the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex fresh = new InvertedIndex();
+        try {
+            scanTemplate.query("SELECT id, title FROM quizzes",
+                    rs -> { fresh.addQuiz(rs.getLong(1), rs.getString(2)); });
+            scanTemplate.query("SELECT quiz_id, question_text FROM questions WHERE quiz_id IS NOT NULL",
+                    rs -> { fresh.addQuestion(rs.getLong(1), rs.getString(2)); });
+            scanTemplate.query("SELECT q.quiz_id, a.answer_text FROM answers a " +
+                            "JOIN questions q ON a.question_id = q.id WHERE q.quiz_id IS NOT NULL",
+                    rs -> { fresh.addAnswer(rs.getLong(1), rs.getString(2)); });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(update -> update.accept(fresh));
+            pendingDuringRebuild = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Search index built: " + fresh.getDocumentCount() + " documents, " +
+                fresh.getTermCount() + " terms in " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
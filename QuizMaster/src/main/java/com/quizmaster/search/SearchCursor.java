@@ -0,0 +1,66 @@
+package com.quizmaster.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a ranked search: the score and quiz id of the last
+ * hit seen. Hits are ordered by score, highest first, then by quiz id, so
+ * the next page starts strictly after this pair however deep it is and
+ * whatever was added or removed in between.
+ */
+public final class SearchCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final float score;
+    private final long quizId;
+
+    private SearchCursor(float score, long quizId) {
+        this.score = score;
+        this.quizId = quizId;
+    }
+
+    public static SearchCursor after(SearchHit hit) {
+        return new SearchCursor(hit.getScore(), hit.getQuizId());
+    }
+
+    public String encode() {
+        // the raw bits, so the score compares equal to the one it came from
+        String raw = Integer.toHexString(Float.floatToIntBits(score)) + SEPARATOR + quizId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, separator), 16));
+            if (Float.isNaN(score)) {
+                throw new IllegalArgumentException("not a score");
+            }
+            return new SearchCursor(score, Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * @return whether a hit with this score and quiz id ranks after the cursor
+     */
+    boolean precedes(float hitScore, long hitQuizId) {
+        int byScore = Float.compare(hitScore, score);
+        return byScore < 0 || (byScore == 0 && hitQuizId > quizId);
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public long getQuizId() {
+        return quizId;
+    }
+}
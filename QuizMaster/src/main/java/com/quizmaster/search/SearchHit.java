@@ -0,0 +1,34 @@
+package com.quizmaster.search;
+
+/**
+ * A quiz matching a search, with its relevance score.
+ */
+public class SearchHit {
+
+    private final long quizId;
+    private final String title;
+    private final float score;
+
+    public SearchHit(long quizId, String title, float score) {
+        this.quizId = quizId;
+        this.title = title;
+        this.score = score;
+    }
+
+    public long getQuizId() {
+        return quizId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{quizId=" + quizId + ", title='" + title + "', score=" + score + '}';
+    }
+}
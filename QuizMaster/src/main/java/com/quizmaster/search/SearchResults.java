@@ -0,0 +1,31 @@
+package com.quizmaster.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked hits plus the total number of matching quizzes.
+ */
+public class SearchResults {
+
+    private final List<SearchHit> hits;
+    private final int totalHits;
+    private final long tookNanos;
+
+    public SearchResults(List<SearchHit> hits, int totalHits, long tookNanos) {
+        this.hits = hits;
+        this.totalHits = totalHits;
+        this.tookNanos = tookNanos;
+    }
+
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+    public long getTookNanos() {
+        return tookNanos;
+    }
+}
@@ -0,0 +1,51 @@
+package com.quizmaster.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-case alphanumeric terms and terms into trigrams.
+ */
+public final class TextTokenizer {
+
+    public static final int NGRAM = 3;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private TextTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                int end = Math.min(i, start + MAX_TERM_LENGTH);
+                tokens.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Distinct character trigrams of a term; empty for terms shorter than three characters.
+     */
+    public static List<String> trigrams(String term) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + NGRAM <= term.length(); i++) {
+            String gram = term.substring(i, i + NGRAM);
+            if (!grams.contains(gram)) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,197 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, precompiled answer key for a single quiz.
+ * Holds question ids, points and correct answer ids in sorted primitive arrays
+ * so grading never touches the JPA graph.
+ */
+public final class AnswerKey {
+
+    public static final long NO_ANSWER = -1L;
+    public static final String PARAM_PREFIX = "question_";
+
+    private final long quizId;
+    private final int timeLimit;           // minutes, 0 = untimed
+    private final long[] questionIds;      // sorted ascending
+    private final int[] points;            // aligned with questionIds
+    private final int[] correctOffsets;    // correct ids of question i live in [correctOffsets[i], correctOffsets[i + 1])
+    private final long[] correctAnswerIds; // sorted within each question range
+    private final int totalPoints;
+
+    private AnswerKey(long quizId, int timeLimit, long[] questionIds, int[] points,
+                      int[] correctOffsets, long[] correctAnswerIds) {
+        this.quizId = quizId;
+        this.timeLimit = timeLimit;
+        this.questionIds = questionIds;
+        this.points = points;
+        this.correctOffsets = correctOffsets;
+        this.correctAnswerIds = correctAnswerIds;
+        this.totalPoints = Arrays.stream(points).sum();
+    }
+
+    /**
+     * Compiles the key from a loaded quiz. Must run while the questions and
+     * answers collections can still be initialized.
+     */
+    public static AnswerKey from(QuizEntity quiz) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (QuizQuestion question : quiz.getQuestions()) {
+            if (question.getId() != null) {
+                questions.add(question);
+            }
+        }
+        questions.sort(Comparator.comparingLong(QuizQuestion::getId));
+
+        int count = questions.size();
+        long[] questionIds = new long[count];
+        int[] points = new int[count];
+        int[] offsets = new int[count + 1];
+        long[] correctIds = new long[8];
+        int correctCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            QuizQuestion question = questions.get(i);
+            questionIds[i] = question.getId();
+            points[i] = question.getPoints();
+            offsets[i] = correctCount;
+            for (QuizAnswer answer : question.getAnswers()) {
+                if (answer.isCorrect() && answer.getId() != null) {
+                    if (correctCount == correctIds.length) {
+                        correctIds = Arrays.copyOf(correctIds, correctCount * 2);
+                    }
+                    correctIds[correctCount++] = answer.getId();
+                }
+            }
+            Arrays.sort(correctIds, offsets[i], correctCount);
+        }
+        offsets[count] = correctCount;
+
+        return new AnswerKey(quiz.getId(), quiz.getTimeLimit(), questionIds, points, offsets,
+                Arrays.copyOf(correctIds, correctCount));
+    }
+
+    public long getQuizId() {
+        return quizId;
+    }
+
+    public int getTimeLimit() {
+        return timeLimit;
+    }
+
+    public boolean isTimed() {
+        return timeLimit > 0;
+    }
+
+    public int getQuestionCount() {
+        return questionIds.length;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public long getQuestionId(int index) {
+        return questionIds[index];
+    }
+
+    public int getPoints(int index) {
+        return points[index];
+    }
+
+    /**
+     * @return the position of the question in this key, or a negative value if unknown
+     */
+    public int indexOf(long questionId) {
+        return Arrays.binarySearch(questionIds, questionId);
+    }
+
+    public boolean isCorrect(int index, long answerId) {
+        return Arrays.binarySearch(correctAnswerIds, correctOffsets[index],
+                correctOffsets[index + 1], answerId) >= 0;
+    }
+
+    /**
+     * Creates an empty selection array aligned with this key.
+     */
+    public long[] newSelection() {
+        long[] selection = new long[questionIds.length];
+        Arrays.fill(selection, NO_ANSWER);
+        return selection;
+    }
+
+    /**
+     * Grades form parameters of the shape {@code question_<questionId> = <answerId>}.
+     * Unknown questions and malformed values are treated as unanswered.
+     */
+    public GradingResult grade(Map<String, String> params) {
+        long[] selection = newSelection();
+        int prefixLength = PARAM_PREFIX.length();
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            String name = entry.getKey();
+            if (!name.startsWith(PARAM_PREFIX) || entry.getValue() == null) {
+                continue;
+            }
+            try {
+                int index = indexOf(Long.parseLong(name, prefixLength, name.length(), 10));
+                if (index >= 0) {
+                    selection[index] = Long.parseLong(entry.getValue());
+                }
+            } catch (NumberFormatException ignored) {
+                // not a graded field
+            }
+        }
+        return grade(selection);
+    }
+
+    /**
+     * Grades parallel arrays of question ids and chosen answer ids.
+     */
+    public GradingResult grade(long[] selectedQuestionIds, long[] selectedAnswerIds, int count) {
+        long[] selection = newSelection();
+        for (int i = 0; i < count; i++) {
+            int index = indexOf(selectedQuestionIds[i]);
+            if (index >= 0) {
+                selection[index] = selectedAnswerIds[i];
+            }
+        }
+        return grade(selection);
+    }
+
+    /**
+     * Grades a selection array created by {@link #newSelection()}.
+     * The array is owned by the returned result afterwards.
+     */
+    public GradingResult grade(long[] selection) {
+        boolean[] correct = new boolean[questionIds.length];
+        int correctAnswers = 0;
+        int earnedPoints = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            long answerId = selection[i];
+            if (answerId != NO_ANSWER && isCorrect(i, answerId)) {
+                correct[i] = true;
+                correctAnswers++;
+                earnedPoints += points[i];
+            }
+        }
+        return new GradingResult(this, selection, correct, correctAnswers, earnedPoints);
+    }
+
+    @Override
+    public String toString() {
+        return "AnswerKey{" +
+                "quizId=" + quizId +
+                ", questionCount=" + questionIds.length +
+                ", totalPoints=" + totalPoints +
+                '}';
+    }
+}
@@ -0,0 +1,24 @@
+package com.quizmaster.service;
+
+import com.quizmaster.repository.QuizRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+/**
+ * Cache of compiled answer keys by quiz id.
+ * Hits never open a transaction; misses compile the key from the database once.
+ * Entries are dropped by {@link QuizService} whenever a quiz changes.
+ */
+@Component
+public class AnswerKeyCache extends QuizDerivedCache<AnswerKey> {
+
+    public AnswerKeyCache(QuizRepository quizRepository, PlatformTransactionManager transactionManager) {
+        super(quizRepository, transactionManager);
+    }
+
+    public Optional<AnswerKey> get(Long quizId) {
+        return get(quizId, AnswerKey::from);
+    }
+}
@@ -0,0 +1,49 @@
+package com.quizmaster.service;
+
+import java.util.Arrays;
+
+/**
+ * One offline answer sheet submitted for bulk grading.
+ * Answers are kept as parallel primitive arrays of question and answer ids.
+ */
+public class AnswerSheet {
+
+    private final String sheetId;
+    private final long quizId;
+    private final long[] questionIds;
+    private final long[] answerIds;
+    private final int answerCount;
+
+    public AnswerSheet(String sheetId, long quizId, long[] questionIds, long[] answerIds, int answerCount) {
+        this.sheetId = sheetId;
+        this.quizId = quizId;
+        this.questionIds = questionIds;
+        this.answerIds = answerIds;
+        this.answerCount = answerCount;
+    }
+
+    public String getSheetId() {
+        return sheetId;
+    }
+
+    public long getQuizId() {
+        return quizId;
+    }
+
+    public int getAnswerCount() {
+        return answerCount;
+    }
+
+    public GradingResult gradeWith(AnswerKey key) {
+        return key.grade(questionIds, answerIds, answerCount);
+    }
+
+    @Override
+    public String toString() {
+        return "AnswerSheet{" +
+                "sheetId='" + sheetId + '\'' +
+                ", quizId=" + quizId +
+                ", answers=" + Arrays.toString(Arrays.copyOf(questionIds, answerCount)) +
+                '}';
+    }
+}
@@ -0,0 +1,117 @@
+package com.quizmaster.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Cuts a stream of answer sheets, a JSON array or whitespace-separated
+ * objects, into chunks of raw JSON holding up to a fixed number of complete
+ * sheet objects, one per line. Only brackets, quotes and escapes are looked
+ * at, which is much cheaper than parsing, so the sheets of each chunk can be
+ * parsed on another thread. Reading stops at the end of the array or at the
+ * first top-level value that is not an object.
+ */
+class AnswerSheetSplitter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final int sheetsPerChunk;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean started;
+    private boolean wrappedInArray;
+    private boolean finished;
+    private byte[] chunk = new byte[BUFFER_SIZE];
+    private int length;
+
+    AnswerSheetSplitter(InputStream in, int sheetsPerChunk) {
+        this.in = in;
+        this.sheetsPerChunk = Math.max(1, sheetsPerChunk);
+    }
+
+    /**
+     * @return the next chunk, or null once the input is used up
+     */
+    byte[] next() throws IOException {
+        length = 0;
+        int sheets = 0;
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        while (!finished && sheets < sheetsPerChunk) {
+            int b = read();
+            if (b < 0) {
+                if (depth > 0) {
+                    throw new IOException("Unexpected end of input inside an answer sheet");
+                }
+                finished = true;
+                break;
+            }
+            if (depth == 0) {
+                if (Character.isWhitespace(b)) {
+                    continue;
+                }
+                if (!started) {
+                    started = true;
+                    if (b == '[') {
+                        wrappedInArray = true;
+                        continue;
+                    }
+                }
+                if (wrappedInArray && b == ',') {
+                    continue;
+                }
+                if (b != '{') {
+                    finished = true;
+                    break;
+                }
+            }
+            append(b);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (--depth == 0) {
+                        append('\n');
+                        sheets++;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return length == 0 ? null : Arrays.copyOf(chunk, length);
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++] & 0xff;
+    }
+
+    private void append(int b) {
+        if (length == chunk.length) {
+            chunk = Arrays.copyOf(chunk, chunk.length * 2);
+        }
+        chunk[length++] = (byte) b;
+    }
+}
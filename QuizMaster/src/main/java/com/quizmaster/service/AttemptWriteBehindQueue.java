@@ -0,0 +1,221 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.QuestionResultsConverter;
+import com.quizmaster.model.QuizAttempt;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind stage for graded attempts.
+ * Submissions only enqueue; a background thread flushes JDBC batches when
+ * {@code batch-size} attempts are waiting or {@code flush-interval-ms} has passed.
+ * The queue is bounded: when it stays full the submitting thread flushes a
+ * batch itself (caller-runs backpressure). Everything queued is flushed on shutdown.
+ * A batch leaves memory only once written; attempts that cannot be written
+ * at all are logged one by one.
+ */
+@Component
+@DependsOn("entityManagerFactory") // closed before the schema is dropped
+public class AttemptWriteBehindQueue {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO quiz_attempts (quiz_id, participant, correct_answers, total_questions, earned_points, " +
+            "total_points, percentage, results, submitted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int WRITE_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final QuestionResultsConverter resultsConverter = new QuestionResultsConverter();
+    private final BlockingQueue<QuizAttempt> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final Thread flusher;
+    private final Object writeLock = new Object();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder callerFlushes = new LongAdder();
+    private volatile boolean running = true;
+
+    public AttemptWriteBehindQueue(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${quizmaster.attempts.queue-capacity:10000}") int capacity,
+            @Value("${quizmaster.attempts.batch-size:500}") int batchSize,
+            @Value("${quizmaster.attempts.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${quizmaster.attempts.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.flusher = new Thread(this::flushLoop, "attempt-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues an attempt for persistence. Blocks for at most {@code offer-timeout-ms};
+     * if the queue is still full the caller writes a batch synchronously.
+     */
+    public void enqueue(QuizAttempt attempt) {
+        try {
+            if (running && queue.offer(attempt, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        callerFlushes.increment();
+        List<QuizAttempt> batch = new ArrayList<>(batchSize);
+        batch.add(attempt);
+        queue.drainTo(batch, batchSize - 1);
+        persist(batch);
+    }
+
+    private void flushLoop() {
+        List<QuizAttempt> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                QuizAttempt first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    QuizAttempt next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                persist(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // attempts already taken off the queue are written here, not dropped
+            persist(batch);
+        }
+    }
+
+    /**
+     * Writes the batch and empties it. A failed batch is retried, then
+     * written row by row so one bad attempt does not take the others down;
+     * attempts that still cannot be written are logged as lost.
+     */
+    private void persist(List<QuizAttempt> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (int round = 1; round < WRITE_ATTEMPTS; round++) {
+            if (write(batch)) {
+                batch.clear();
+                return;
+            }
+            pause();
+        }
+        for (QuizAttempt attempt : batch) {
+            if (!write(List.of(attempt))) {
+                failed.increment();
+                System.err.println("Lost quiz attempt: quiz " + attempt.getQuizId() + " by " +
+                        attempt.getParticipant() + " at " + attempt.getSubmittedAt() + " (" +
+                        attempt.getCorrectAnswers() + "/" + attempt.getTotalQuestions() + ")");
+            }
+        }
+        batch.clear();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(flushIntervalMillis);
+        } catch (InterruptedException e) {
+            // keep the flag; the remaining writes go ahead without waiting
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean write(List<QuizAttempt> batch) {
+        synchronized (writeLock) {
+            try {
+                // one transaction, so a failed batch leaves nothing behind to duplicate on retry
+                transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batchSize, (ps, attempt) -> {
+                    ps.setLong(1, attempt.getQuizId());
+                    ps.setString(2, attempt.getParticipant());
+                    ps.setInt(3, attempt.getCorrectAnswers());
+                    ps.setInt(4, attempt.getTotalQuestions());
+                    ps.setInt(5, attempt.getEarnedPoints());
+                    ps.setInt(6, attempt.getTotalPoints());
+                    ps.setDouble(7, attempt.getPercentage());
+                    ps.setString(8, resultsConverter.convertToDatabaseColumn(attempt.getResults()));
+                    ps.setTimestamp(9, Timestamp.valueOf(attempt.getSubmittedAt()));
+                }));
+                written.add(batch.size());
+                return true;
+            } catch (RuntimeException e) {
+                System.err.println("Failed to persist " + batch.size() + " quiz attempts: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Writes everything currently queued on the calling thread.
+     */
+    public void flush() {
+        List<QuizAttempt> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            persist(batch);
+        }
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getCallerFlushCount() {
+        return callerFlushes.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        System.out.println("Attempt write-behind stopped: " + written.sum() + " written, " +
+                failed.sum() + " failed");
+    }
+}
@@ -0,0 +1,224 @@
+package com.quizmaster.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.quizmaster.concurrency.BatchGradingTask;
+import com.quizmaster.util.JsonSerializer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Grades large streams of answer sheets in parallel.
+ * The request thread only cuts the input into chunks of raw sheets; parsing
+ * and grading of each chunk run on a ForkJoinPool, a bounded number of chunks
+ * at a time, and results are streamed back as NDJSON in input order.
+ */
+@Service
+public class BatchGradingService {
+
+    private final QuizService quizService;
+    private final ForkJoinPool gradingPool;
+    private final int chunkSize;
+
+    public BatchGradingService(
+            QuizService quizService,
+            @Value("${quizmaster.grading.parallelism:0}") int parallelism,
+            @Value("${quizmaster.grading.chunk-size:4096}") int chunkSize) {
+        this.quizService = quizService;
+        this.gradingPool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads sheets from {@code in} (a JSON array or whitespace-separated objects)
+     * and writes one JSON result line per sheet to {@code out}, in input order.
+     *
+     * @return number of sheets processed
+     */
+    public long gradeStream(InputStream in, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        JsonFactory factory = JsonSerializer.getObjectMapper().getFactory();
+        long processed = 0;
+        // enough chunks in flight to keep every worker busy while the oldest is written
+        int maxInFlight = gradingPool.getParallelism() * 2;
+        Map<Long, Optional<AnswerKey>> keys = new ConcurrentHashMap<>();
+        Deque<ForkJoinTask<GradedChunk>> inFlight = new ArrayDeque<>(maxInFlight);
+
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+            AnswerSheetSplitter splitter = new AnswerSheetSplitter(in, chunkSize);
+            byte[] chunk;
+            while ((chunk = splitter.next()) != null) {
+                if (inFlight.size() == maxInFlight) {
+                    processed += writeResults(generator, await(inFlight.poll()));
+                }
+                byte[] sheets = chunk;
+                inFlight.add(gradingPool.submit(() -> gradeChunk(factory, sheets, keys)));
+            }
+            while (!inFlight.isEmpty()) {
+                processed += writeResults(generator, await(inFlight.poll()));
+            }
+
+            generator.flush();
+            out.write('\n');
+            out.flush();
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+
+        long duration = Math.max(1, System.currentTimeMillis() - startTime);
+        System.out.println("Batch grading: " + processed + " sheets in " + duration + "ms (" +
+                (processed * 1000 / duration) + " sheets/sec, parallelism " + gradingPool.getParallelism() + ")");
+        return processed;
+    }
+
+    /**
+     * Parses and grades one chunk on a pool thread.
+     */
+    private GradedChunk gradeChunk(JsonFactory factory, byte[] chunk,
+                                   Map<Long, Optional<AnswerKey>> keys) throws IOException {
+        List<AnswerSheet> sheets = new ArrayList<>(chunkSize);
+        try (JsonParser parser = factory.createParser(chunk)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                sheets.add(readSheet(parser));
+            }
+        }
+        AnswerKey[] chunkKeys = new AnswerKey[sheets.size()];
+        for (int i = 0; i < chunkKeys.length; i++) {
+            long quizId = sheets.get(i).getQuizId();
+            Optional<AnswerKey> key = keys.get(quizId);
+            if (key == null) {
+                // looked up outside the map so a slow load does not block other workers
+                key = quizService.getAnswerKey(quizId);
+                keys.putIfAbsent(quizId, key);
+            }
+            chunkKeys[i] = key.orElse(null);
+        }
+        GradingResult[] results = new GradingResult[sheets.size()];
+        new BatchGradingTask(sheets, chunkKeys, results).invoke();
+        return new GradedChunk(sheets, results);
+    }
+
+    private static GradedChunk await(ForkJoinTask<GradedChunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while grading");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException("Grading failed", e.getCause());
+        }
+    }
+
+    private AnswerSheet readSheet(JsonParser parser) throws IOException {
+        String sheetId = null;
+        long quizId = -1;
+        long[] questionIds = new long[16];
+        long[] answerIds = new long[16];
+        int count = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "sheetId" -> sheetId = parser.getValueAsString();
+                case "quizId" -> quizId = parser.getValueAsLong(-1);
+                case "answers" -> {
+                    if (value != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String questionField = parser.currentName();
+                        long answerId;
+                        if (parser.nextToken().isStructStart()) {
+                            // not an answer id: leave the question unanswered
+                            parser.skipChildren();
+                            answerId = AnswerKey.NO_ANSWER;
+                        } else {
+                            answerId = parser.getValueAsLong(AnswerKey.NO_ANSWER);
+                        }
+                        try {
+                            long questionId = Long.parseLong(questionField);
+                            if (count == questionIds.length) {
+                                questionIds = Arrays.copyOf(questionIds, count * 2);
+                                answerIds = Arrays.copyOf(answerIds, count * 2);
+                            }
+                            questionIds[count] = questionId;
+                            answerIds[count] = answerId;
+                            count++;
+                        } catch (NumberFormatException ignored) {
+                            // not a question id
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new AnswerSheet(sheetId, quizId, questionIds, answerIds, count);
+    }
+
+    private long writeResults(JsonGenerator generator, GradedChunk chunk) throws IOException {
+        GradingResult[] results = chunk.results;
+        for (int i = 0; i < results.length; i++) {
+            AnswerSheet sheet = chunk.sheets.get(i);
+            GradingResult result = results[i];
+            generator.writeStartObject();
+            generator.writeStringField("sheetId", sheet.getSheetId());
+            generator.writeNumberField("quizId", sheet.getQuizId());
+            if (result == null) {
+                generator.writeStringField("error", "Quiz not found with id: " + sheet.getQuizId());
+            } else {
+                generator.writeNumberField("correctAnswers", result.getCorrectAnswers());
+                generator.writeNumberField("totalQuestions", result.getTotalQuestions());
+                generator.writeNumberField("earnedPoints", result.getEarnedPoints());
+                generator.writeNumberField("totalPoints", result.getTotalPoints());
+                generator.writeNumberField("percentage", Math.round(result.getPercentage() * 10) / 10.0);
+            }
+            generator.writeEndObject();
+        }
+        generator.flush();
+        return results.length;
+    }
+
+    private static final class GradedChunk {
+        final List<AnswerSheet> sheets;
+        final GradingResult[] results;
+
+        GradedChunk(List<AnswerSheet> sheets, GradingResult[] results) {
+            this.sheets = sheets;
+            this.results = results;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        gradingPool.shutdown();
+    }
+}
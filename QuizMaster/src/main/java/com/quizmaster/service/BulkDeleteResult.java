@@ -0,0 +1,55 @@
+package com.quizmaster.service;
+
+/**
+ * Row counts of a bulk quiz delete.
+ */
+public class BulkDeleteResult {
+
+    private int quizzes;
+    private int questions;
+    private int answers;
+    private int chunks;
+    private long elapsedMillis;
+
+    void addChunk(int quizzes, int questions, int answers) {
+        this.quizzes += quizzes;
+        this.questions += questions;
+        this.answers += answers;
+        this.chunks++;
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getQuizzes() {
+        return quizzes;
+    }
+
+    public int getQuestions() {
+        return questions;
+    }
+
+    public int getAnswers() {
+        return answers;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkDeleteResult{" +
+                "quizzes=" + quizzes +
+                ", questions=" + questions +
+                ", answers=" + answers +
+                ", chunks=" + chunks +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.QuizEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Eviction and metrics for the Hibernate second-level and query caches.
+ * Hit, miss and put counts come from Hibernate statistics; evictions are
+ * read from the JCache statistics MBean of each region.
+ */
+@Service
+public class CatalogCacheService {
+
+    private static final String QUESTIONS_ROLE = QuizEntity.class.getName() + ".questions";
+
+    private final SessionFactory sessionFactory;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public CatalogCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Drops the cached quiz, its question list and cached query results once
+     * the current transaction commits.
+     */
+    public void evictQuizAfterCommit(Long quizId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictQuiz(quizId);
+                }
+            });
+        } else {
+            evictQuiz(quizId);
+        }
+    }
+
+    public void evictQuiz(Long quizId) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(QuizEntity.class, quizId);
+        cache.evictCollectionData(QUESTIONS_ROLE, quizId);
+        cache.evictDefaultQueryRegion();
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        Set<String> regionNames = new TreeSet<>(Set.of(statistics.getSecondLevelCacheRegionNames()));
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("hits", region.getHitCount());
+            row.put("misses", region.getMissCount());
+            row.put("puts", region.getPutCount());
+            row.put("evictions", getEvictions(regionName));
+            long entries = region.getElementCountInMemory();
+            if (entries >= 0) {
+                row.put("entries", entries);
+            }
+            regions.put(regionName, row);
+        }
+
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hits", statistics.getQueryCacheHitCount());
+        queryCache.put("misses", statistics.getQueryCacheMissCount());
+        queryCache.put("puts", statistics.getQueryCachePutCount());
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", statistics.isStatisticsEnabled());
+        metrics.put("secondLevelHits", statistics.getSecondLevelCacheHitCount());
+        metrics.put("secondLevelMisses", statistics.getSecondLevelCacheMissCount());
+        metrics.put("secondLevelPuts", statistics.getSecondLevelCachePutCount());
+        metrics.put("queryCache", queryCache);
+        metrics.put("regions", regions);
+        return metrics;
+    }
+
+    private long getEvictions(String regionName) {
+        try {
+            Set<ObjectName> names = mBeanServer.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + ObjectName.quote(regionName) + ",*"), null);
+            if (names.isEmpty()) {
+                names = mBeanServer.queryNames(
+                        new ObjectName("javax.cache:type=CacheStatistics,Cache=" + regionName + ",*"), null);
+            }
+            for (ObjectName name : names) {
+                return ((Number) mBeanServer.getAttribute(name, "CacheEvictions")).longValue();
+            }
+        } catch (Exception e) {
+            System.err.println("Could not read evictions for cache region " + regionName + ": " + e.getMessage());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,395 @@
+package com.quizmaster.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Persists the quiz catalog across restarts of the in-memory database.
+ * The quizzes, questions, answers and tombstone tables are written row by row to a
+ * compressed binary snapshot on shutdown and on a schedule, and loaded back
+ * with JDBC batch inserts before any other runner sees the database. When a
+ * snapshot was restored, {@code DataInitializer} finds the catalog populated
+ * and does not seed it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@DependsOn("entityManagerFactory") // saved before the schema is dropped
+public class CatalogSnapshotService implements ApplicationRunner {
+
+    private static final int MAGIC = 0x514D534E; // "QMSN"
+    private static final short VERSION = 2; // 2 added quiz uids and tombstones
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int FETCH_SIZE = 1000;
+    private static final int ALLOCATION_SIZE = 50; // matches the entity sequence generators
+
+    private static final String INSERT_QUIZ =
+            "INSERT INTO quizzes (id, uid, title, description, time_limit, created_at, updated_at, " +
+            "total_points, question_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_QUESTION =
+            "INSERT INTO questions (id, quiz_id, question_text, points, difficulty) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ANSWER =
+            "INSERT INTO answers (id, question_id, answer_text, correct) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_TOMBSTONE =
+            "INSERT INTO quiz_tombstones (quiz_uid, deleted_at) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate scanTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final boolean enabled;
+    private final Path path;
+    private final int batchSize;
+    private final Object snapshotLock = new Object();
+    private String lastSignature; // guarded by snapshotLock
+
+    public CatalogSnapshotService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${quizmaster.snapshot.enabled:false}") boolean enabled,
+                                  @Value("${quizmaster.snapshot.path:data/catalog.snapshot}") String path,
+                                  @Value("${quizmaster.snapshot.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // own template so the fetch size does not leak into other users of the shared one
+        this.scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.scanTemplate.setFetchSize(FETCH_SIZE);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // the three table scans must see one consistent state
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (!Files.exists(path)) {
+            System.out.println("No catalog snapshot at " + path.toAbsolutePath() + ", starting empty");
+            return;
+        }
+        try {
+            restore();
+        } catch (IOException | RuntimeException e) {
+            // the transaction rolled back, so the initializer seeds an empty catalog as usual
+            System.err.println("Could not restore catalog snapshot " + path + ": " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quizmaster.snapshot.interval-ms:300000}",
+               initialDelayString = "${quizmaster.snapshot.interval-ms:300000}")
+    public void scheduledSnapshot() {
+        if (enabled) {
+            snapshot(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (enabled) {
+            snapshot(true);
+        }
+    }
+
+    /**
+     * Writes the catalog to the snapshot file, replacing it atomically.
+     * Unless forced, nothing is written while the catalog is unchanged
+     * since the last snapshot or restore.
+     *
+     * @return whether a snapshot was written
+     */
+    public boolean snapshot(boolean force) {
+        synchronized (snapshotLock) {
+            long start = System.currentTimeMillis();
+            try {
+                SnapshotCounts counts = readTransaction.execute(status -> {
+                    String signature = signature();
+                    if (!force && signature.equals(lastSignature)) {
+                        return null;
+                    }
+                    try {
+                        SnapshotCounts written = write();
+                        lastSignature = signature;
+                        return written;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (counts != null) {
+                    System.out.println("Catalog snapshot written to " + path + ": " + counts +
+                            " in " + (System.currentTimeMillis() - start) + " ms");
+                }
+                return counts != null;
+            } catch (RuntimeException e) {
+                System.err.println("Catalog snapshot failed: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private String signature() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) || ':' || COALESCE(MAX(id), 0) || ':' || COALESCE(CAST(MAX(updated_at) AS VARCHAR), '') || ':' || " +
+                "COALESCE(SUM(question_count), 0) || ':' || COALESCE(SUM(total_points), 0) || ':' || " +
+                "(SELECT COUNT(*) FROM quiz_tombstones) FROM quizzes",
+                String.class);
+    }
+
+    private SnapshotCounts write() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        SnapshotCounts counts = new SnapshotCounts();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (OutputStream file = Files.newOutputStream(temp)) {
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            header.writeShort(VERSION);
+            header.flush();
+            DeflaterOutputStream compressed = new DeflaterOutputStream(file, deflater, BUFFER_SIZE);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(compressed, BUFFER_SIZE));
+
+            scanTemplate.query("SELECT id, uid, title, description, time_limit, created_at, updated_at, " +
+                    "total_points, question_count FROM quizzes ORDER BY id", rs -> {
+                row(out, () -> {
+                    out.writeLong(rs.getLong(1));
+                    out.writeUTF(rs.getString(2));
+                    out.writeUTF(rs.getString(3));
+                    writeNullable(out, rs.getString(4));
+                    out.writeInt(rs.getInt(5));
+                    writeTime(out, rs, 6);
+                    writeTime(out, rs, 7);
+                    out.writeInt(rs.getInt(8));
+                    out.writeInt(rs.getInt(9));
+                });
+                counts.quizzes++;
+            });
+            out.writeBoolean(false);
+
+            scanTemplate.query("SELECT id, quiz_id, question_text, points, difficulty FROM questions ORDER BY id", rs -> {
+                row(out, () -> {
+                    out.writeLong(rs.getLong(1));
+                    long quizId = rs.getLong(2);
+                    out.writeLong(rs.wasNull() ? 0 : quizId);
+                    out.writeUTF(rs.getString(3));
+                    out.writeInt(rs.getInt(4));
+                    out.writeUTF(rs.getString(5));
+                });
+                counts.questions++;
+            });
+            out.writeBoolean(false);
+
+            scanTemplate.query("SELECT id, question_id, answer_text, correct FROM answers ORDER BY id", rs -> {
+                row(out, () -> {
+                    out.writeLong(rs.getLong(1));
+                    long questionId = rs.getLong(2);
+                    out.writeLong(rs.wasNull() ? 0 : questionId);
+                    out.writeUTF(rs.getString(3));
+                    out.writeBoolean(rs.getBoolean(4));
+                });
+                counts.answers++;
+            });
+            out.writeBoolean(false);
+
+            scanTemplate.query("SELECT quiz_uid, deleted_at FROM quiz_tombstones ORDER BY quiz_uid", rs -> {
+                row(out, () -> {
+                    out.writeUTF(rs.getString(1));
+                    writeTime(out, rs, 2);
+                });
+                counts.tombstones++;
+            });
+            out.writeBoolean(false);
+            out.flush();
+            compressed.finish();
+        } finally {
+            deflater.end();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return counts;
+    }
+
+    /**
+     * Loads the snapshot into the (empty) catalog tables in one transaction
+     * and moves the id sequences past the restored ids.
+     */
+    public void restore() throws IOException {
+        long start = System.currentTimeMillis();
+        try (InputStream file = Files.newInputStream(path)) {
+            DataInputStream header = new DataInputStream(file);
+            if (header.readInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot");
+            }
+            short version = header.readShort();
+            if (version != VERSION && version != 1) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new InflaterInputStream(file), BUFFER_SIZE));
+
+            SnapshotCounts counts = writeTransaction.execute(status -> {
+                Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM quizzes", Long.class);
+                if (existing != null && existing > 0) {
+                    throw new IllegalStateException("Catalog is not empty");
+                }
+                try {
+                    SnapshotCounts loaded = new SnapshotCounts();
+                    loaded.quizzes = load(in, INSERT_QUIZ, () -> new Object[]{
+                            in.readLong(), version == 1 ? UUID.randomUUID().toString() : in.readUTF(),
+                            in.readUTF(), readNullable(in), in.readInt(),
+                            readTime(in), readTime(in), in.readInt(), in.readInt()});
+                    loaded.questions = load(in, INSERT_QUESTION, () -> {
+                        long id = in.readLong();
+                        long quizId = in.readLong();
+                        return new Object[]{id, quizId == 0 ? null : quizId, in.readUTF(), in.readInt(), in.readUTF()};
+                    });
+                    loaded.answers = load(in, INSERT_ANSWER, () -> {
+                        long id = in.readLong();
+                        long questionId = in.readLong();
+                        return new Object[]{id, questionId == 0 ? null : questionId, in.readUTF(), in.readBoolean()};
+                    });
+                    if (version > 1) {
+                        loaded.tombstones = load(in, INSERT_TOMBSTONE, () -> new Object[]{in.readUTF(), readTime(in)});
+                    }
+                    restartSequence("quizzes");
+                    restartSequence("questions");
+                    restartSequence("answers");
+                    return loaded;
+                } catch (EOFException e) {
+                    throw new UncheckedIOException("Snapshot is truncated", e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            synchronized (snapshotLock) {
+                lastSignature = signature();
+            }
+            System.out.println("Catalog restored from " + path + ": " + counts +
+                    " in " + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+
+    private int load(DataInputStream in, String sql, RowReader reader) throws IOException {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int total = 0;
+        while (in.readBoolean()) {
+            batch.add(reader.read());
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                total += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            total += batch.size();
+        }
+        return total;
+    }
+
+    private void restartSequence(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        // the pooled optimizer hands out the block ending at the value it reads
+        long next = Objects.requireNonNullElse(maxId, 0L) + ALLOCATION_SIZE + 1;
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+    }
+
+    private static void row(DataOutputStream out, RowWriter writer) throws SQLException {
+        try {
+            out.writeBoolean(true);
+            writer.write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTime(DataOutputStream out, ResultSet rs, int column) throws SQLException, IOException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static Timestamp readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC));
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write() throws IOException, SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        Object[] read() throws IOException;
+    }
+
+    private static final class SnapshotCounts {
+        int quizzes;
+        int questions;
+        int answers;
+        int tombstones;
+
+        @Override
+        public String toString() {
+            return quizzes + " quizzes, " + questions + " questions, " + answers + " answers, " +
+                    tombstones + " tombstones";
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.quizmaster.service;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * What a delta export wrote, and the watermark to request the next one from.
+ */
+public class DeltaExportResult {
+
+    private final Path path;
+    private final LocalDateTime since;
+    private final LocalDateTime until;
+    private final long quizzes;
+    private final long deletes;
+    private final long elapsedMillis;
+
+    DeltaExportResult(Path path, LocalDateTime since, LocalDateTime until,
+                      long quizzes, long deletes, long elapsedMillis) {
+        this.path = path;
+        this.since = since;
+        this.until = until;
+        this.quizzes = quizzes;
+        this.deletes = deletes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return start of the window, exclusive; null for everything
+     */
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    /**
+     * @return end of the window, inclusive, and the next {@code since}
+     */
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public long getQuizzes() {
+        return quizzes;
+    }
+
+    public long getDeletes() {
+        return deletes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "DeltaExportResult{" +
+                "path=" + path +
+                ", since=" + since +
+                ", until=" + until +
+                ", quizzes=" + quizzes +
+                ", deletes=" + deletes +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
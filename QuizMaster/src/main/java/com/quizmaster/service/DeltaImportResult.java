@@ -0,0 +1,141 @@
+package com.quizmaster.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of applying a delta. Changes already present count as unchanged
+ * or already deleted, so applying the same delta twice changes nothing
+ * the second time.
+ */
+public class DeltaImportResult {
+
+    private final String source;
+    private LocalDateTime since;
+    private LocalDateTime until;
+    private long created;
+    private long updated;
+    private long unchanged;
+    private long deleted;
+    private long alreadyDeleted;
+    private long skipped;
+    private boolean aborted;
+    private long elapsedMillis;
+    private final List<String> errors = new ArrayList<>();
+
+    DeltaImportResult(String source) {
+        this.source = source;
+    }
+
+    void setWatermarks(LocalDateTime since, LocalDateTime until) {
+        this.since = since;
+        this.until = until;
+    }
+
+    void countCreated(int count) {
+        created += count;
+    }
+
+    void countUpdated(int count) {
+        updated += count;
+    }
+
+    void countUnchanged(int count) {
+        unchanged += count;
+    }
+
+    void countDeleted(int count) {
+        deleted += count;
+    }
+
+    void countAlreadyDeleted(int count) {
+        alreadyDeleted += count;
+    }
+
+    void skip(String entry, String reason) {
+        skipped++;
+        if (errors.size() < ImportReport.MAX_ERRORS) {
+            errors.add(entry + ": " + reason);
+        }
+    }
+
+    void abort(String reason) {
+        aborted = true;
+        errors.add("aborted: " + reason);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    /**
+     * @return the watermark the applied delta reaches; pull the next one from here
+     */
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return deletions of quizzes that are absent here, or changed after the deletion
+     */
+    public long getAlreadyDeleted() {
+        return alreadyDeleted;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return "DeltaImportResult{" +
+                "source='" + source + '\'' +
+                ", until=" + until +
+                ", created=" + created +
+                ", updated=" + updated +
+                ", unchanged=" + unchanged +
+                ", deleted=" + deleted +
+                ", alreadyDeleted=" + alreadyDeleted +
+                ", skipped=" + skipped +
+                ", aborted=" + aborted +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
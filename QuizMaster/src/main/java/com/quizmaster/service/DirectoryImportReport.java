@@ -0,0 +1,83 @@
+package com.quizmaster.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a directory import: one {@link ImportReport} per file, and
+ * their totals.
+ */
+public class DirectoryImportReport {
+
+    private final String directory;
+    private final int workers;
+    private final List<ImportReport> files = new ArrayList<>();
+    private long elapsedMillis;
+
+    DirectoryImportReport(String directory, int workers) {
+        this.directory = directory;
+        this.workers = workers;
+    }
+
+    void addFile(ImportReport report) {
+        files.add(report);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public long getRead() {
+        return files.stream().mapToLong(ImportReport::getRead).sum();
+    }
+
+    public long getImported() {
+        return files.stream().mapToLong(ImportReport::getImported).sum();
+    }
+
+    public long getSkipped() {
+        return files.stream().mapToLong(ImportReport::getSkipped).sum();
+    }
+
+    public long getDuplicates() {
+        return files.stream().mapToLong(ImportReport::getDuplicates).sum();
+    }
+
+    /**
+     * @return number of files that could not be read to their end
+     */
+    public long getFailedFiles() {
+        return files.stream().filter(ImportReport::isAborted).count();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<ImportReport> getFiles() {
+        return files;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryImportReport{" +
+                "directory='" + directory + '\'' +
+                ", files=" + files.size() +
+                ", workers=" + workers +
+                ", read=" + getRead() +
+                ", imported=" + getImported() +
+                ", skipped=" + getSkipped() +
+                ", duplicates=" + getDuplicates() +
+                ", failedFiles=" + getFailedFiles() +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
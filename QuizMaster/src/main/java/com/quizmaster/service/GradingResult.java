@@ -0,0 +1,87 @@
+package com.quizmaster.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Outcome of grading one submission against an {@link AnswerKey}.
+ * Per-question arrays are aligned with the key's question order.
+ */
+public class GradingResult {
+
+    private final AnswerKey key;
+    private final long[] selection;
+    private final boolean[] correct;
+    private final int correctAnswers;
+    private final int earnedPoints;
+
+    GradingResult(AnswerKey key, long[] selection, boolean[] correct,
+                  int correctAnswers, int earnedPoints) {
+        this.key = key;
+        this.selection = selection;
+        this.correct = correct;
+        this.correctAnswers = correctAnswers;
+        this.earnedPoints = earnedPoints;
+    }
+
+    public AnswerKey getKey() {
+        return key;
+    }
+
+    public long getQuizId() {
+        return key.getQuizId();
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public int getTotalQuestions() {
+        return key.getQuestionCount();
+    }
+
+    public int getEarnedPoints() {
+        return earnedPoints;
+    }
+
+    public int getTotalPoints() {
+        return key.getTotalPoints();
+    }
+
+    public double getPercentage() {
+        int totalPoints = key.getTotalPoints();
+        return totalPoints > 0 ? (earnedPoints * 100.0) / totalPoints : 0;
+    }
+
+    public boolean isCorrect(int index) {
+        return correct[index];
+    }
+
+    /**
+     * @return chosen answer id for the question at {@code index}, or {@link AnswerKey#NO_ANSWER}
+     */
+    public long getSelectedAnswer(int index) {
+        return selection[index];
+    }
+
+    /**
+     * Builds the question id to correctness map used by the results view.
+     */
+    public Map<Long, Boolean> toResultMap() {
+        Map<Long, Boolean> results = new HashMap<>(correct.length * 2);
+        for (int i = 0; i < correct.length; i++) {
+            results.put(key.getQuestionId(i), correct[i]);
+        }
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "GradingResult{" +
+                "quizId=" + key.getQuizId() +
+                ", correctAnswers=" + correctAnswers +
+                ", earnedPoints=" + earnedPoints +
+                ", totalPoints=" + key.getTotalPoints() +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+package com.quizmaster.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a catalog import: how many quizzes were read, stored and
+ * skipped, with the reasons for the first skipped ones. During a directory
+ * import it is updated by a parser thread and the storing thread, and read
+ * by others for progress and totals, so every access holds its lock.
+ */
+public class ImportReport {
+
+    static final int MAX_ERRORS = 100;
+
+    private final String source;
+    private long read;
+    private long imported;
+    private long skipped;
+    private long duplicates;
+    private boolean aborted;
+    private boolean byteOffsets;
+    private long elapsedMillis;
+    private final List<String> errors = new ArrayList<>();
+
+    ImportReport(String source) {
+        this.source = source;
+    }
+
+    synchronized long countRead() {
+        return ++read;
+    }
+
+    /**
+     * Entries are identified by the byte offset of their line instead of their index.
+     */
+    synchronized void useByteOffsets() {
+        byteOffsets = true;
+    }
+
+    synchronized void countImported(int count) {
+        imported += count;
+    }
+
+    synchronized void skip(long index, String reason) {
+        skipped++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add((byteOffsets ? "byte " : "#") + index + ": " + reason);
+        }
+    }
+
+    synchronized void countDuplicate() {
+        duplicates++;
+    }
+
+    synchronized void abort(String reason) {
+        aborted = true;
+        errors.add("aborted: " + reason);
+    }
+
+    synchronized void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public synchronized long getRead() {
+        return read;
+    }
+
+    public synchronized long getImported() {
+        return imported;
+    }
+
+    public synchronized long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return quizzes left out because an equal one was already imported
+     */
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return whether the input stopped being readable before its end
+     */
+    public synchronized boolean isAborted() {
+        return aborted;
+    }
+
+    public synchronized long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public synchronized List<String> getErrors() {
+        return List.copyOf(errors);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ImportReport{" +
+                "source='" + source + '\'' +
+                ", read=" + read +
+                ", imported=" + imported +
+                ", skipped=" + skipped +
+                ", duplicates=" + duplicates +
+                ", aborted=" + aborted +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
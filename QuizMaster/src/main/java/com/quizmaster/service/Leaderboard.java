@@ -0,0 +1,113 @@
+package com.quizmaster.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent top-N ranking for a single quiz.
+ * The ranking is a lock-free skip list; each participant's best entry is
+ * swapped under a per-key ConcurrentHashMap compute, so there is no global lock
+ * and readers never block writers.
+ */
+public class Leaderboard {
+
+    private final int capacity;
+    private final ConcurrentSkipListSet<LeaderboardEntry> ranking = new ConcurrentSkipListSet<>();
+    private final ConcurrentMap<String, LeaderboardEntry> bestByParticipant = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong submissions = new AtomicLong();
+
+    public Leaderboard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a score, keeping only the participant's best one.
+     *
+     * @return the entry now ranked for the participant, or {@code null} if outside the top N
+     */
+    public LeaderboardEntry submit(String participant, int earnedPoints, double percentage) {
+        submissions.incrementAndGet();
+        LeaderboardEntry candidate = new LeaderboardEntry(participant, earnedPoints, percentage,
+                System.currentTimeMillis(), sequence.incrementAndGet());
+
+        LeaderboardEntry worst = size.get() >= capacity ? worstEntry() : null;
+        if (worst != null && !candidate.beats(worst)) {
+            return bestByParticipant.get(key(participant));
+        }
+
+        LeaderboardEntry best = bestByParticipant.compute(key(participant), (k, current) -> {
+            if (current != null && !candidate.beats(current)) {
+                return current;
+            }
+            if (current != null && ranking.remove(current)) {
+                size.decrementAndGet();
+            }
+            ranking.add(candidate);
+            size.incrementAndGet();
+            return candidate;
+        });
+        trim();
+        return bestByParticipant.get(key(participant)) == best ? best : null;
+    }
+
+    private void trim() {
+        while (size.get() > capacity) {
+            LeaderboardEntry evicted = ranking.pollLast();
+            if (evicted == null) {
+                return;
+            }
+            size.decrementAndGet();
+            bestByParticipant.remove(key(evicted.getParticipant()), evicted);
+        }
+    }
+
+    private LeaderboardEntry worstEntry() {
+        try {
+            return ranking.last();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return 1-based rank of the participant, or 0 when not in the top N
+     */
+    public int rankOf(String participant) {
+        LeaderboardEntry entry = bestByParticipant.get(key(participant));
+        if (entry == null || !ranking.contains(entry)) {
+            return 0;
+        }
+        return ranking.headSet(entry).size() + 1;
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        List<LeaderboardEntry> top = new ArrayList<>(Math.min(limit, capacity));
+        Iterator<LeaderboardEntry> it = ranking.iterator();
+        while (it.hasNext() && top.size() < limit) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getSubmissionCount() {
+        return submissions.get();
+    }
+
+    private static String key(String participant) {
+        return participant.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,67 @@
+package com.quizmaster.service;
+
+/**
+ * Immutable leaderboard row.
+ * Ordered best first: more points, then higher percentage, then earlier submission.
+ */
+public class LeaderboardEntry implements Comparable<LeaderboardEntry> {
+
+    private final String participant;
+    private final int earnedPoints;
+    private final double percentage;
+    private final long submittedAtMillis;
+    private final long sequence; // unique tie-breaker
+
+    public LeaderboardEntry(String participant, int earnedPoints, double percentage,
+                            long submittedAtMillis, long sequence) {
+        this.participant = participant;
+        this.earnedPoints = earnedPoints;
+        this.percentage = percentage;
+        this.submittedAtMillis = submittedAtMillis;
+        this.sequence = sequence;
+    }
+
+    public String getParticipant() {
+        return participant;
+    }
+
+    public int getEarnedPoints() {
+        return earnedPoints;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    public long getSubmittedAtMillis() {
+        return submittedAtMillis;
+    }
+
+    public boolean beats(LeaderboardEntry other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public int compareTo(LeaderboardEntry other) {
+        int result = Integer.compare(other.earnedPoints, earnedPoints);
+        if (result == 0) {
+            result = Double.compare(other.percentage, percentage);
+        }
+        if (result == 0) {
+            result = Long.compare(submittedAtMillis, other.submittedAtMillis);
+        }
+        if (result == 0) {
+            result = Long.compare(sequence, other.sequence);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LeaderboardEntry{" +
+                "participant='" + participant + '\'' +
+                ", earnedPoints=" + earnedPoints +
+                ", percentage=" + percentage +
+                '}';
+    }
+}
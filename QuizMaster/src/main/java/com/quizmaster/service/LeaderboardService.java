@@ -0,0 +1,58 @@
+package com.quizmaster.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Live per-quiz leaderboards fed by graded submissions.
+ * Boards are kept in memory only and hold the best {@code quizmaster.leaderboard.size}
+ * participants per quiz.
+ */
+@Service
+public class LeaderboardService {
+
+    private final ConcurrentMap<Long, Leaderboard> boards = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public LeaderboardService(@Value("${quizmaster.leaderboard.size:100}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void record(long quizId, String participant, GradingResult result) {
+        board(quizId).submit(participant, result.getEarnedPoints(), result.getPercentage());
+    }
+
+    public List<LeaderboardEntry> getTop(long quizId, int limit) {
+        Leaderboard board = boards.get(quizId);
+        return board == null ? List.of() : board.top(limit);
+    }
+
+    /**
+     * @return 1-based rank of the participant, or 0 when not in the top N
+     */
+    public int getRank(long quizId, String participant) {
+        Leaderboard board = boards.get(quizId);
+        return board == null ? 0 : board.rankOf(participant);
+    }
+
+    public long getSubmissionCount(long quizId) {
+        Leaderboard board = boards.get(quizId);
+        return board == null ? 0 : board.getSubmissionCount();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void remove(long quizId) {
+        boards.remove(quizId);
+    }
+
+    private Leaderboard board(long quizId) {
+        return boards.computeIfAbsent(quizId, id -> new Leaderboard(capacity));
+    }
+}
@@ -0,0 +1,97 @@
+package com.quizmaster.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-friendly live counters for one question.
+ * Updates are striped LongAdder increments; reads sum the cells.
+ */
+public class QuestionCounters {
+
+    private final long questionId;
+    private final long quizId;
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder correct = new LongAdder();
+    private final LongAdder unanswered = new LongAdder();
+    private final ConcurrentMap<Long, LongAdder> chosenAnswers = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    public QuestionCounters(long questionId, long quizId) {
+        this.questionId = questionId;
+        this.quizId = quizId;
+    }
+
+    public void record(long answerId, boolean isCorrect) {
+        attempts.increment();
+        if (answerId == AnswerKey.NO_ANSWER) {
+            unanswered.increment();
+        } else {
+            chosenAnswers.computeIfAbsent(answerId, id -> new LongAdder()).increment();
+            if (isCorrect) {
+                correct.increment();
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Seeds the counters from a checkpoint.
+     */
+    void restore(long attemptCount, long correctCount, long unansweredCount, Map<Long, Long> answerCounts) {
+        attempts.add(attemptCount);
+        correct.add(correctCount);
+        unanswered.add(unansweredCount);
+        answerCounts.forEach((answerId, count) ->
+                chosenAnswers.computeIfAbsent(answerId, id -> new LongAdder()).add(count));
+    }
+
+    /**
+     * @return whether there were updates since the previous call
+     */
+    boolean clearDirty() {
+        if (!dirty) {
+            return false;
+        }
+        dirty = false;
+        return true;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public long getQuizId() {
+        return quizId;
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getCorrect() {
+        return correct.sum();
+    }
+
+    public long getUnanswered() {
+        return unanswered.sum();
+    }
+
+    public double getCorrectRate() {
+        long total = attempts.sum();
+        return total > 0 ? (correct.sum() * 100.0) / total : 0;
+    }
+
+    public Map<Long, Long> getAnswerDistribution() {
+        Map<Long, Long> distribution = new LinkedHashMap<>();
+        chosenAnswers.forEach((answerId, count) -> distribution.put(answerId, count.sum()));
+        return distribution;
+    }
+}
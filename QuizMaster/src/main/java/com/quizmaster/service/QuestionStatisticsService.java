@@ -0,0 +1,259 @@
+package com.quizmaster.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incremental per-question and per-answer statistics.
+ * Every graded submission bumps in-memory counters, which also remember
+ * each quiz's questions in key order; reads never touch the database.
+ * Changed counters are checkpointed to {@code question_statistics} on a
+ * schedule and on shutdown, and restored at startup.
+ */
+@Service
+@DependsOn("entityManagerFactory") // final checkpoint runs before the schema is dropped
+public class QuestionStatisticsService {
+
+    private static final String MERGE_SQL =
+            "MERGE INTO question_statistics (question_id, quiz_id, attempts, correct_count, unanswered, " +
+            "answer_counts, updated_at) KEY (question_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ConcurrentMap<Long, QuestionCounters> questions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, QuizLayout> layouts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, LongAdder> quizAttempts = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+
+    public QuestionStatisticsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(GradingResult result) {
+        AnswerKey key = result.getKey();
+        long quizId = key.getQuizId();
+        quizAttempts.computeIfAbsent(quizId, id -> new LongAdder()).increment();
+        QuestionCounters[] counters = layout(key).counters;
+        for (int i = 0; i < counters.length; i++) {
+            counters[i].record(result.getSelectedAnswer(i), result.isCorrect(i));
+        }
+    }
+
+    public Optional<QuestionCounters> getQuestionStatistics(long questionId) {
+        return Optional.ofNullable(questions.get(questionId));
+    }
+
+    public long getQuizAttemptCount(long quizId) {
+        LongAdder attempts = quizAttempts.get(quizId);
+        return attempts == null ? 0 : attempts.sum();
+    }
+
+    /**
+     * Statistics for every question of a quiz, in answer-key order, straight
+     * from the counters. Empty for a quiz without recorded submissions.
+     */
+    public List<QuestionCounters> getQuizStatistics(Long quizId) {
+        QuizLayout layout = layouts.get(quizId);
+        return layout == null ? List.of() : List.of(layout.counters);
+    }
+
+    public void removeQuiz(long quizId) {
+        quizAttempts.remove(quizId);
+        layouts.remove(quizId);
+        questions.values().removeIf(counters -> counters.getQuizId() == quizId);
+    }
+
+    public void removeQuizzes(Collection<Long> quizIds) {
+        quizIds.forEach(quizAttempts::remove);
+        quizIds.forEach(layouts::remove);
+        Set<Long> removed = new HashSet<>(quizIds);
+        questions.values().removeIf(counters -> removed.contains(counters.getQuizId()));
+    }
+
+    /**
+     * Drops the counters of questions removed from a quiz, now and again once
+     * the surrounding transaction commits, so a submission graded in between
+     * cannot bring them back.
+     */
+    public void removeQuestionsAfterCommit(long quizId, Collection<Long> questionIds) {
+        removeQuestions(quizId, questionIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeQuestions(quizId, questionIds);
+                }
+            });
+        }
+    }
+
+    private void removeQuestions(long quizId, Collection<Long> questionIds) {
+        questionIds.forEach(questions::remove);
+        Set<Long> removed = new HashSet<>(questionIds);
+        // keyless until the next submission, like a restored layout
+        layouts.computeIfPresent(quizId, (id, layout) -> new QuizLayout(null, Arrays.stream(layout.counters)
+                .filter(counters -> !removed.contains(counters.getQuestionId()))
+                .toArray(QuestionCounters[]::new)));
+    }
+
+    /**
+     * The counters of the key's questions, rebuilt only when the quiz was
+     * changed and so compiled into a new key.
+     */
+    private QuizLayout layout(AnswerKey key) {
+        QuizLayout layout = layouts.get(key.getQuizId());
+        if (layout != null && layout.key == key) {
+            return layout;
+        }
+        return layouts.compute(key.getQuizId(), (quizId, current) -> {
+            if (current != null && current.key == key) {
+                return current;
+            }
+            QuestionCounters[] counters = new QuestionCounters[key.getQuestionCount()];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = counters(key.getQuestionId(i), quizId);
+            }
+            return new QuizLayout(key, counters);
+        });
+    }
+
+    private QuestionCounters counters(long questionId, long quizId) {
+        QuestionCounters counters = questions.get(questionId);
+        return counters != null ? counters
+                : questions.computeIfAbsent(questionId, id -> new QuestionCounters(id, quizId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        jdbcTemplate.query(
+                "SELECT question_id, quiz_id, attempts, correct_count, unanswered, answer_counts FROM question_statistics",
+                rs -> {
+                    long quizId = rs.getLong("quiz_id");
+                    counters(rs.getLong("question_id"), quizId).restore(
+                            rs.getLong("attempts"),
+                            rs.getLong("correct_count"),
+                            rs.getLong("unanswered"),
+                            decodeAnswerCounts(rs.getString("answer_counts")));
+                });
+        // every submission counts against every question, so a quiz's attempts are its busiest question's
+        Map<Long, Long> attemptsByQuiz = new LinkedHashMap<>();
+        Map<Long, List<QuestionCounters>> countersByQuiz = new HashMap<>();
+        questions.values().forEach(counters -> {
+            attemptsByQuiz.merge(counters.getQuizId(), counters.getAttempts(), Math::max);
+            countersByQuiz.computeIfAbsent(counters.getQuizId(), id -> new ArrayList<>()).add(counters);
+        });
+        attemptsByQuiz.forEach((quizId, attempts) ->
+                quizAttempts.computeIfAbsent(quizId, id -> new LongAdder()).add(attempts));
+        // no key until the next submission; question ids follow creation order meanwhile
+        countersByQuiz.forEach((quizId, counters) -> {
+            counters.sort(Comparator.comparingLong(QuestionCounters::getQuestionId));
+            layouts.putIfAbsent(quizId, new QuizLayout(null, counters.toArray(new QuestionCounters[0])));
+        });
+        questions.values().forEach(QuestionCounters::clearDirty);
+        if (!questions.isEmpty()) {
+            System.out.println("Restored statistics for " + questions.size() + " questions");
+        }
+    }
+
+    /**
+     * Writes counters that changed since the last checkpoint.
+     */
+    @Scheduled(fixedDelayString = "${quizmaster.statistics.checkpoint-interval-ms:30000}",
+               initialDelayString = "${quizmaster.statistics.checkpoint-interval-ms:30000}")
+    public void checkpoint() {
+        List<QuestionCounters> changed = new ArrayList<>();
+        for (QuestionCounters counters : questions.values()) {
+            if (counters.clearDirty()) {
+                changed.add(counters);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(MERGE_SQL, changed, 500, (ps, counters) -> {
+                ps.setLong(1, counters.getQuestionId());
+                ps.setLong(2, counters.getQuizId());
+                ps.setLong(3, counters.getAttempts());
+                ps.setLong(4, counters.getCorrect());
+                ps.setLong(5, counters.getUnanswered());
+                ps.setString(6, encodeAnswerCounts(counters.getAnswerDistribution()));
+                ps.setTimestamp(7, now);
+            });
+        } catch (RuntimeException e) {
+            changed.forEach(QuestionCounters::markDirty);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            System.err.println("Final statistics checkpoint failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The questions of a quiz as of one answer key, in key order.
+     */
+    private static final class QuizLayout {
+        final AnswerKey key;
+        final QuestionCounters[] counters;
+
+        QuizLayout(AnswerKey key, QuestionCounters[] counters) {
+            this.key = key;
+            this.counters = counters;
+        }
+    }
+
+    private static String encodeAnswerCounts(Map<Long, Long> counts) {
+        StringBuilder sb = new StringBuilder();
+        counts.forEach((answerId, count) -> {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(answerId).append(':').append(count);
+        });
+        return sb.toString();
+    }
+
+    private static Map<Long, Long> decodeAnswerCounts(String column) {
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        if (column == null || column.isEmpty()) {
+            return counts;
+        }
+        for (String pair : column.split(",")) {
+            int separator = pair.indexOf(':');
+            if (separator > 0) {
+                counts.put(Long.parseLong(pair.substring(0, separator)),
+                        Long.parseLong(pair.substring(separator + 1)));
+            }
+        }
+        return counts;
+    }
+}
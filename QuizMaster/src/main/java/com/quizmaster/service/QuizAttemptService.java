@@ -0,0 +1,71 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.QuizAttempt;
+import com.quizmaster.repository.QuizAttemptRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Grades quiz submissions and records them as attempts.
+ * Recording goes through the write-behind queue, so submit latency
+ * never includes a database write, and feeds the live leaderboard and
+ * per-question statistics.
+ */
+@Service
+public class QuizAttemptService {
+
+    private final QuizService quizService;
+    private final AttemptWriteBehindQueue writeBehindQueue;
+    private final QuizAttemptRepository attemptRepository;
+    private final LeaderboardService leaderboardService;
+    private final QuestionStatisticsService statisticsService;
+
+    public QuizAttemptService(QuizService quizService,
+                              AttemptWriteBehindQueue writeBehindQueue,
+                              QuizAttemptRepository attemptRepository,
+                              LeaderboardService leaderboardService,
+                              QuestionStatisticsService statisticsService) {
+        this.quizService = quizService;
+        this.writeBehindQueue = writeBehindQueue;
+        this.attemptRepository = attemptRepository;
+        this.leaderboardService = leaderboardService;
+        this.statisticsService = statisticsService;
+    }
+
+    public Optional<GradingResult> submit(Long quizId, String participant, Map<String, String> answers) {
+        return quizService.gradeSubmission(quizId, answers)
+                .map(result -> {
+                    record(result, participant);
+                    return result;
+                });
+    }
+
+    public void record(GradingResult result, String participant) {
+        leaderboardService.record(result.getQuizId(), participant, result);
+        statisticsService.record(result);
+        writeBehindQueue.enqueue(new QuizAttempt(
+                result.getQuizId(),
+                participant,
+                result.getCorrectAnswers(),
+                result.getTotalQuestions(),
+                result.getEarnedPoints(),
+                result.getTotalPoints(),
+                result.toResultMap()
+        ));
+    }
+
+    @Transactional(readOnly = true)
+    public List<QuizAttempt> getRecentAttempts(Long quizId, int limit) {
+        return attemptRepository.findByQuizIdOrderBySubmittedAtDesc(quizId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public long getAttemptCount(Long quizId) {
+        return attemptRepository.countByQuizId(quizId);
+    }
+}
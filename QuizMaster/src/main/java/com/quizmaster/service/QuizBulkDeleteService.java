@@ -0,0 +1,138 @@
+package com.quizmaster.service;
+
+import com.quizmaster.repository.QuizRepository;
+import com.quizmaster.repository.QuizTombstoneRepository;
+import com.quizmaster.search.QuizSearchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Deletes quizzes with set-based statements instead of cascading through
+ * the entity graph. Matching ids are collected in chunks; each chunk records
+ * tombstones for the delta export, then deletes answers, questions,
+ * statistics and quizzes in its own transaction, so a
+ * large purge never holds one huge transaction and a failure only rolls
+ * back the current chunk. Hibernate evicts the second-level and query cache
+ * regions touched by the bulk statements; the in-memory answer keys, search
+ * index, leaderboards and statistics are cleared once each chunk commits.
+ */
+@Service
+public class QuizBulkDeleteService {
+
+    private final QuizRepository quizRepository;
+    private final QuizTombstoneRepository tombstoneRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizPayloadCache payloadCache;
+    private final QuizSearchService searchService;
+    private final LeaderboardService leaderboardService;
+    private final QuestionStatisticsService statisticsService;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public QuizBulkDeleteService(QuizRepository quizRepository,
+                                 QuizTombstoneRepository tombstoneRepository,
+                                 AnswerKeyCache answerKeyCache,
+                                 QuizPayloadCache payloadCache,
+                                 QuizSearchService searchService,
+                                 LeaderboardService leaderboardService,
+                                 QuestionStatisticsService statisticsService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${quizmaster.bulk-delete.chunk-size:500}") int chunkSize) {
+        this.quizRepository = quizRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.answerKeyCache = answerKeyCache;
+        this.payloadCache = payloadCache;
+        this.searchService = searchService;
+        this.leaderboardService = leaderboardService;
+        this.statisticsService = statisticsService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public boolean deleteQuiz(Long id) {
+        return deleteByIds(List.of(id)).getQuizzes() > 0;
+    }
+
+    public BulkDeleteResult deleteByIds(List<Long> ids) {
+        long start = System.currentTimeMillis();
+        BulkDeleteResult result = new BulkDeleteResult();
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            deleteChunk(distinct.subList(from, Math.min(from + chunkSize, distinct.size())), result);
+        }
+        return finish(result, start, "ids");
+    }
+
+    /**
+     * @param pattern SQL LIKE pattern matched case-insensitively, e.g. {@code test%}
+     */
+    public BulkDeleteResult deleteByTitlePattern(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Title pattern must not be empty");
+        }
+        return deleteMatching(afterId -> quizRepository.findIdsByTitleLike(pattern, afterId, Limit.of(chunkSize)),
+                "title like '" + pattern + "'");
+    }
+
+    public BulkDeleteResult deleteCreatedBefore(LocalDateTime cutoff) {
+        return deleteMatching(afterId -> quizRepository.findIdsCreatedBefore(cutoff, afterId, Limit.of(chunkSize)),
+                "created before " + cutoff);
+    }
+
+    private BulkDeleteResult deleteMatching(LongFunction<List<Long>> nextChunk, String criteria) {
+        long start = System.currentTimeMillis();
+        BulkDeleteResult result = new BulkDeleteResult();
+        long afterId = 0;
+        List<Long> ids;
+        // keyset over ids, so each lookup starts past the rows already removed
+        while (!(ids = nextChunk.apply(afterId)).isEmpty()) {
+            deleteChunk(ids, result);
+            afterId = ids.get(ids.size() - 1);
+        }
+        return finish(result, start, criteria);
+    }
+
+    private void deleteChunk(List<Long> ids, BulkDeleteResult result) {
+        chunkTransaction.executeWithoutResult(status -> {
+            tombstoneRepository.recordDeletes(ids, LocalDateTime.now());
+            int answers = quizRepository.deleteAnswersByQuizIds(ids);
+            int questions = quizRepository.deleteQuestionsByQuizIds(ids);
+            quizRepository.deleteStatisticsByQuizIds(ids);
+            int quizzes = quizRepository.deleteByIds(ids);
+            for (Long id : ids) {
+                answerKeyCache.invalidateAfterCommit(id);
+                payloadCache.invalidateAfterCommit(id);
+                searchService.removeAfterCommit(id);
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(leaderboardService::remove);
+                    statisticsService.removeQuizzes(ids);
+                }
+            });
+            result.addChunk(quizzes, questions, answers);
+        });
+    }
+
+    private BulkDeleteResult finish(BulkDeleteResult result, long start, String criteria) {
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        System.out.println("Bulk delete (" + criteria + "): " + result.getQuizzes() + " quizzes, " +
+                result.getQuestions() + " questions, " + result.getAnswers() + " answers in " +
+                result.getChunks() + " chunks, " + result.getElapsedMillis() + " ms");
+        return result;
+    }
+}
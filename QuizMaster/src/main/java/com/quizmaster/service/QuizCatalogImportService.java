@@ -0,0 +1,578 @@
+package com.quizmaster.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+import com.quizmaster.util.ChunkFallback;
+import com.quizmaster.util.MalformedQuizException;
+import com.quizmaster.util.QuizCatalogFormat;
+import com.quizmaster.util.QuizCatalogNdjsonReader;
+import com.quizmaster.util.QuizCatalogReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Imports large quiz catalogs without materializing them.
+ * The file, JSON, binary or JSON Lines as detected, is walked entry by entry; each quiz
+ * is read and validated on its own, with ids reset so it is stored as new rows, and
+ * persisted through {@link QuizService#createQuizzes} in chunks of
+ * {@code quizmaster.import.chunk-size}, one transaction per chunk. A quiz
+ * that does not bind, fails validation or cannot be stored is skipped and
+ * reported; the rest of the run continues.
+ * <p>
+ * A whole directory is imported by parsing its files in parallel on
+ * {@code quizmaster.import.workers} threads, which hand their quizzes to the
+ * calling thread through a bounded queue; that thread is the only one
+ * writing, so chunks stay as large as for a single file. A JSON Lines file
+ * is imported the same way on its own, split into line-aligned byte ranges
+ * that take the place of the files.
+ */
+@Service
+public class QuizCatalogImportService {
+
+    /**
+     * What makes two quizzes of one directory import the same quiz.
+     */
+    public enum DedupeKey {
+        /** Title, ignoring case and surrounding blanks. */
+        TITLE,
+        /** Title, description, time limit, questions and answers, in any order. */
+        CONTENT
+    }
+
+    private static final StagedQuiz END_OF_FILE = new StagedQuiz(null, null, -1, null);
+    // more ranges than workers, so a slow range does not leave the others idle
+    private static final int RANGES_PER_WORKER = 4;
+
+    private final QuizService quizService;
+    private final int defaultChunkSize;
+    private final long progressInterval;
+    private final int workers;
+
+    public QuizCatalogImportService(QuizService quizService,
+                                    @Value("${quizmaster.import.chunk-size:500}") int defaultChunkSize,
+                                    @Value("${quizmaster.import.progress-interval:10000}") long progressInterval,
+                                    @Value("${quizmaster.import.workers:0}") int workers) {
+        this.quizService = quizService;
+        this.defaultChunkSize = Math.max(1, defaultChunkSize);
+        this.progressInterval = Math.max(1, progressInterval);
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    public ImportReport importCatalog(Path source) throws IOException {
+        return importCatalog(source, defaultChunkSize);
+    }
+
+    /**
+     * Imports a catalog file in whichever {@link QuizCatalogFormat} it was written.
+     */
+    public ImportReport importCatalog(Path source, int chunkSize) throws IOException {
+        if (QuizCatalogFormat.detect(source) == QuizCatalogFormat.NDJSON) {
+            return importLines(source, chunkSize);
+        }
+        long start = System.currentTimeMillis();
+        int size = Math.max(1, chunkSize);
+        ImportReport report = new ImportReport(source.toString());
+        List<StagedQuiz> chunk = new ArrayList<>(size);
+        try {
+            readFile(source, report, quiz -> null, staged -> {
+                chunk.add(staged);
+                if (chunk.size() == size) {
+                    persist(chunk);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        }
+        persist(chunk);
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        System.out.println("Import finished: " + report);
+        return report;
+    }
+
+    /**
+     * Imports a JSON Lines file by cutting it into byte ranges at line
+     * boundaries, which the workers parse in parallel. Skipped quizzes are
+     * reported by the byte offset of their line, as line numbers are not
+     * known until the ranges before have been read.
+     */
+    private ImportReport importLines(Path source, int chunkSize) throws IOException {
+        long start = System.currentTimeMillis();
+        int size = Math.max(1, chunkSize);
+        ImportReport report = new ImportReport(source.toString());
+        report.useByteOffsets();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long total = channel.size();
+            List<QuizCatalogNdjsonReader.ByteRange> ranges =
+                    QuizCatalogNdjsonReader.split(channel, workers * RANGES_PER_WORKER);
+            // coarse: a range counts once it is fully parsed
+            AtomicLong parsedBytes = new AtomicLong();
+            DoubleSupplier progress = () -> total == 0 ? 1.0 : (double) parsedBytes.get() / total;
+            List<Consumer<QuizSink>> tasks = new ArrayList<>(ranges.size());
+            for (QuizCatalogNdjsonReader.ByteRange range : ranges) {
+                tasks.add(sink -> {
+                    try (QuizCatalogNdjsonReader reader = new QuizCatalogNdjsonReader(channel, range)) {
+                        readEntries(reader, source, report, reader::getEntryOffset, progress, quiz -> null, sink);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        report.abort("interrupted");
+                    } catch (IOException e) {
+                        report.abort("range " + range + ": " + messageOf(e));
+                    } catch (RuntimeException e) {
+                        report.abort("range " + range + ": " + e);
+                    } finally {
+                        parsedBytes.addAndGet(range.getLength());
+                    }
+                });
+            }
+            runParsers(tasks, Math.min(workers, tasks.size()), size, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        System.out.println("Import finished: " + report);
+        return report;
+    }
+
+    public DirectoryImportReport importDirectory(Path directory, DedupeKey dedupeKey) throws IOException {
+        return importDirectory(directory, dedupeKey, defaultChunkSize);
+    }
+
+    /**
+     * Imports every catalog file directly inside a directory.
+     * Quizzes that repeat, by {@code dedupeKey}, one already in the catalog or
+     * one stored earlier in this run are counted as duplicates and not
+     * stored. Each file gets its own report; its elapsed time covers reading
+     * it, including waits on a full queue.
+     */
+    public DirectoryImportReport importDirectory(Path directory, DedupeKey dedupeKey, int chunkSize) throws IOException {
+        long start = System.currentTimeMillis();
+        int size = Math.max(1, chunkSize);
+        List<Path> files = listCatalogFiles(directory);
+        int poolSize = Math.max(1, Math.min(workers, files.size()));
+        DirectoryImportReport result = new DirectoryImportReport(directory.toString(), poolSize);
+        Deduplicator deduplicator = new Deduplicator(dedupeKey);
+        List<Consumer<QuizSink>> tasks = new ArrayList<>(files.size());
+        for (Path file : files) {
+            ImportReport report = new ImportReport(file.toString());
+            result.addFile(report);
+            tasks.add(sink -> parseFile(file, report, deduplicator, sink));
+        }
+        try {
+            runParsers(tasks, poolSize, size, deduplicator);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Directory import interrupted", e);
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        System.out.println("Directory import finished: " + result);
+        return result;
+    }
+
+    /**
+     * Runs the parse tasks on a pool of {@code poolSize} threads and stores
+     * what they stage on the calling thread until every task has ended.
+     *
+     * @param deduplicator drops repeated quizzes, or null to store them all
+     */
+    private void runParsers(List<Consumer<QuizSink>> tasks, int poolSize, int chunkSize,
+                            Deduplicator deduplicator) throws InterruptedException {
+        BlockingQueue<StagedQuiz> queue = new ArrayBlockingQueue<>(chunkSize * 4);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService parsers = Executors.newFixedThreadPool(Math.max(1, poolSize), runnable -> {
+            Thread thread = new Thread(runnable, "catalog-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Consumer<QuizSink> task : tasks) {
+                parsers.execute(() -> {
+                    try {
+                        task.accept(queue::put);
+                    } finally {
+                        try {
+                            queue.put(END_OF_FILE);
+                        } catch (InterruptedException e) {
+                            // only the importing thread interrupts, and it is no longer waiting
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }
+            List<StagedQuiz> chunk = new ArrayList<>(chunkSize);
+            int remaining = tasks.size();
+            while (remaining > 0) {
+                StagedQuiz staged = queue.take();
+                if (staged == END_OF_FILE) {
+                    remaining--;
+                    continue;
+                }
+                if (deduplicator != null && !deduplicator.admit(staged)) {
+                    continue;
+                }
+                chunk.add(staged);
+                if (chunk.size() >= chunkSize) {
+                    store(chunk, deduplicator);
+                }
+            }
+            while (!chunk.isEmpty()) {
+                store(chunk, deduplicator);
+            }
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+
+    /**
+     * Persists the chunk. Copies held back behind a quiz of the chunk that
+     * could not be stored get their turn in the next one.
+     */
+    private void store(List<StagedQuiz> chunk, Deduplicator deduplicator) {
+        if (deduplicator == null) {
+            persist(chunk);
+            return;
+        }
+        List<StagedQuiz> stored = new ArrayList<>(chunk);
+        persist(chunk);
+        for (StagedQuiz retry : deduplicator.settle(stored)) {
+            if (deduplicator.admit(retry)) {
+                chunk.add(retry);
+            }
+        }
+    }
+
+    private void parseFile(Path file, ImportReport report, Deduplicator deduplicator, QuizSink sink) {
+        long start = System.currentTimeMillis();
+        try {
+            // hashed and checked against the catalog here, in parallel; against this run on the importing thread
+            readFile(file, report, deduplicator::keyOf, staged -> {
+                if (deduplicator.inCatalog(staged)) {
+                    report.countDuplicate();
+                } else {
+                    sink.accept(staged);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.abort("interrupted");
+        } catch (RuntimeException e) {
+            report.abort(e.toString());
+        } finally {
+            report.setElapsedMillis(System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Reads and validates the quizzes of one file into {@code sink}.
+     * A file that cannot be opened or read any further ends with an aborted report.
+     *
+     * @param keyOf dedupe key of a quiz, or null for none
+     */
+    private void readFile(Path source, ImportReport report, Function<QuizEntity, String> keyOf, QuizSink sink) throws InterruptedException {
+        try (QuizCatalogReader reader = QuizCatalogFormat.detect(source).openReader(source)) {
+            readEntries(reader, source, report, report::getRead, reader::getProgress, keyOf, sink);
+        } catch (IOException e) {
+            // not readable any further: there is no next entry to resume from
+            report.abort(messageOf(e));
+        }
+    }
+
+    /**
+     * @param position where the entry just read sits, for the report
+     */
+    private void readEntries(QuizCatalogReader reader, Path source, ImportReport report, LongSupplier position,
+                             DoubleSupplier progress, Function<QuizEntity, String> keyOf, QuizSink sink)
+            throws IOException, InterruptedException {
+        while (true) {
+            QuizEntity quiz;
+            try {
+                quiz = reader.next();
+            } catch (MalformedQuizException e) {
+                long index = position.getAsLong();
+                report.countRead();
+                report.skip(index, e.getMessage());
+                continue;
+            }
+            if (quiz == null) {
+                break;
+            }
+            long index = position.getAsLong();
+            long read = report.countRead();
+            try {
+                validate(quiz);
+                String key = keyOf.apply(quiz);
+                quiz.clearIds();
+                sink.accept(new StagedQuiz(quiz, report, index, key));
+            } catch (IllegalArgumentException e) {
+                report.skip(index, e.getMessage());
+            }
+            if (read % progressInterval == 0) {
+                System.out.printf("Import progress %s: %d read, %d imported, %d skipped (%.0f%%)%n", source,
+                        read, report.getImported(), report.getSkipped(), progress.getAsDouble() * 100);
+            }
+        }
+    }
+
+    private static String messageOf(IOException e) {
+        return e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+    }
+
+    private void persist(List<StagedQuiz> chunk) {
+        ChunkFallback.apply(chunk, this::store, (staged, position, e) -> staged.report.skip(staged.index, e.getMessage()));
+        chunk.clear();
+    }
+
+    private void store(List<StagedQuiz> staged) {
+        List<QuizEntity> quizzes = new ArrayList<>(staged.size());
+        for (StagedQuiz quiz : staged) {
+            // ids a rolled-back attempt assigned
+            quiz.quiz.clearIds();
+            quizzes.add(quiz.quiz);
+        }
+        quizService.createQuizzes(quizzes);
+        for (StagedQuiz quiz : staged) {
+            quiz.stored = true;
+            quiz.report.countImported(1);
+        }
+    }
+
+    /**
+     * Regular files with a catalog extension, largest first so the long
+     * parses start early and the pool drains evenly.
+     */
+    private static List<Path> listCatalogFiles(Path directory) throws IOException {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries
+                    .filter(Files::isRegularFile)
+                    .filter(path -> QuizCatalogFormat.isCatalogFile(path.getFileName().toString()))
+                    .sorted(Comparator.comparingLong(QuizCatalogImportService::sizeOf).reversed())
+                    .toList();
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String dedupeKey(QuizEntity quiz, DedupeKey key) {
+        if (key == DedupeKey.TITLE) {
+            return normalizeTitle(quiz.getTitle());
+        }
+        // sorted, so the same questions or answers in another order still count as a repeat
+        List<String> questions = new ArrayList<>(quiz.getQuestions().size());
+        for (QuizQuestion question : quiz.getQuestions()) {
+            List<String> answers = new ArrayList<>(question.getAnswers().size());
+            for (QuizAnswer answer : question.getAnswers()) {
+                answers.add(answer.getAnswerText() + '\u0000' + answer.isCorrect());
+            }
+            answers.sort(null);
+            questions.add(question.getQuestionText() + '\u0000' + question.getPoints() +
+                    '\u0000' + question.getDifficulty() + '\u0002' + String.join("\u0002", answers));
+        }
+        questions.sort(null);
+        StringBuilder content = new StringBuilder(256)
+                .append(quiz.getTitle()).append('\u0000')
+                .append(quiz.getDescription()).append('\u0000')
+                .append(quiz.getTimeLimit());
+        for (String question : questions) {
+            content.append('\u0001').append(question);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalizeTitle(String title) {
+        return title.strip().toLowerCase(Locale.ROOT);
+    }
+
+    static void validate(QuizEntity quiz) {
+        require(quiz.getTitle(), 200, "title");
+        if (quiz.getDescription() != null && quiz.getDescription().length() > 1000) {
+            throw new IllegalArgumentException("description is longer than 1000 characters");
+        }
+        if (quiz.getQuestions() == null) {
+            throw new IllegalArgumentException("quiz without questions list");
+        }
+        for (QuizQuestion question : quiz.getQuestions()) {
+            if (question == null) {
+                throw new IllegalArgumentException("null question");
+            }
+            require(question.getQuestionText(), 1000, "question text");
+            if (question.getDifficulty() == null) {
+                throw new IllegalArgumentException("question without difficulty");
+            }
+            if (question.getAnswers() == null) {
+                throw new IllegalArgumentException("question without answers list");
+            }
+            for (QuizAnswer answer : question.getAnswers()) {
+                if (answer == null) {
+                    throw new IllegalArgumentException("null answer");
+                }
+                require(answer.getAnswerText(), 500, "answer text");
+            }
+        }
+    }
+
+    private static void require(String value, int maxLength, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("missing " + field);
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+    }
+
+    private interface QuizSink {
+        void accept(StagedQuiz staged) throws InterruptedException;
+    }
+
+    /**
+     * Decides which quizzes of a directory are repeats. A key counts as taken
+     * once its quiz is in the catalog, from before the run or stored during
+     * it. The catalog as it was is checked by the parsers; the rest on the
+     * importing thread, where a copy of a quiz still waiting in the current
+     * chunk is held back until that quiz is stored, and takes its place if it
+     * could not be.
+     */
+    private final class Deduplicator {
+        private final DedupeKey keyType;
+        // titles of the catalog before the run, normalized for TITLE; read-only once built
+        private final Set<String> catalogTitles = new HashSet<>();
+        // content keys of the catalog quizzes behind a repeated title, loaded on demand
+        private final Map<String, Set<String>> catalogContent = new ConcurrentHashMap<>();
+        // importing thread only
+        private final Set<String> stored = new HashSet<>();
+        // key of each quiz in the current chunk, with the copies waiting on it
+        private final Map<String, List<StagedQuiz>> pending = new HashMap<>();
+
+        Deduplicator(DedupeKey keyType) {
+            this.keyType = keyType;
+            for (String title : quizService.getQuizTitles()) {
+                catalogTitles.add(keyType == DedupeKey.TITLE ? normalizeTitle(title) : title);
+            }
+        }
+
+        String keyOf(QuizEntity quiz) {
+            return dedupeKey(quiz, keyType);
+        }
+
+        /**
+         * @return whether the quiz goes into the chunk; if not it is a duplicate or held back
+         */
+        boolean admit(StagedQuiz staged) {
+            if (stored.contains(staged.key)) {
+                staged.report.countDuplicate();
+                return false;
+            }
+            List<StagedQuiz> waiting = pending.get(staged.key);
+            if (waiting != null) {
+                waiting.add(staged);
+                return false;
+            }
+            pending.put(staged.key, new ArrayList<>(0));
+            return true;
+        }
+
+        /**
+         * Records the outcome of a persisted chunk.
+         *
+         * @return held-back copies whose original could not be stored
+         */
+        List<StagedQuiz> settle(List<StagedQuiz> chunk) {
+            List<StagedQuiz> retry = new ArrayList<>();
+            for (StagedQuiz staged : chunk) {
+                List<StagedQuiz> waiting = pending.remove(staged.key);
+                if (staged.stored) {
+                    stored.add(staged.key);
+                    waiting.forEach(copy -> copy.report.countDuplicate());
+                } else {
+                    retry.addAll(waiting);
+                }
+            }
+            return retry;
+        }
+
+        /**
+         * @return whether the catalog held the quiz before the run; safe from any thread
+         */
+        boolean inCatalog(StagedQuiz staged) {
+            if (keyType == DedupeKey.TITLE) {
+                return catalogTitles.contains(staged.key);
+            }
+            String title = staged.quiz.getTitle();
+            if (!catalogTitles.contains(title)) {
+                return false;
+            }
+            Set<String> keys = catalogContent.get(title);
+            if (keys == null) {
+                // queried outside the map, whose lock would block other titles meanwhile;
+                // parsers racing on one title only repeat the query
+                Set<String> loaded = new HashSet<>();
+                quizService.forEachQuizWithTitle(title, quiz -> loaded.add(dedupeKey(quiz, DedupeKey.CONTENT)));
+                Set<String> raced = catalogContent.putIfAbsent(title, loaded);
+                keys = raced != null ? raced : loaded;
+            }
+            return keys.contains(staged.key);
+        }
+    }
+
+    /**
+     * A validated quiz waiting to be stored, with where it came from.
+     */
+    private static final class StagedQuiz {
+        final QuizEntity quiz;
+        final ImportReport report;
+        final long index;
+        final String key;
+        // set by the importing thread once the quiz is in the catalog
+        boolean stored;
+
+        StagedQuiz(QuizEntity quiz, ImportReport report, long index, String key) {
+            this.quiz = quiz;
+            this.report = report;
+            this.index = index;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.quizmaster.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+import com.quizmaster.model.QuizTombstone;
+import com.quizmaster.repository.QuizRepository;
+import com.quizmaster.repository.QuizTombstoneRepository;
+import com.quizmaster.search.QuizSearchService;
+import com.quizmaster.util.ChunkFallback;
+import com.quizmaster.util.JsonSerializer;
+import com.quizmaster.util.MalformedQuizException;
+import com.quizmaster.util.QuizDeltaJsonReader;
+import com.quizmaster.util.QuizDeltaJsonWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental export and import of catalog changes, for replicas that sync
+ * periodically instead of re-importing everything.
+ * <p>
+ * A delta covers the window (since, until] of {@code updatedAt} and
+ * tombstone {@code deletedAt}. {@code until} trails the clock by
+ * {@code quizmaster.delta.safety-lag-ms}, because those timestamps are taken
+ * before commit: a change still in flight at export time lands in the next
+ * window instead of being missed, as long as its transaction is shorter
+ * than the lag. Quizzes are matched across databases by uid, their
+ * questions and answers by position.
+ * <p>
+ * Importing is idempotent: a quiz is only written when its incoming
+ * {@code updatedAt} is newer than the local one, and only quizzes not
+ * changed after a deletion are deleted.
+ */
+@Service
+public class QuizDeltaService {
+
+    // window start when no watermark is given: every quiz and tombstone
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final QuizService quizService;
+    private final QuizRepository quizRepository;
+    private final QuizTombstoneRepository tombstoneRepository;
+    private final QuizBulkDeleteService bulkDeleteService;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizPayloadCache payloadCache;
+    private final CatalogCacheService catalogCacheService;
+    private final QuizSearchService searchService;
+    private final QuestionStatisticsService statisticsService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+    private final long safetyLagMillis;
+    private final int chunkSize;
+
+    public QuizDeltaService(QuizService quizService,
+                            QuizRepository quizRepository,
+                            QuizTombstoneRepository tombstoneRepository,
+                            QuizBulkDeleteService bulkDeleteService,
+                            AnswerKeyCache answerKeyCache,
+                            QuizPayloadCache payloadCache,
+                            CatalogCacheService catalogCacheService,
+                            QuizSearchService searchService,
+                            QuestionStatisticsService statisticsService,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${quizmaster.delta.safety-lag-ms:2000}") long safetyLagMillis,
+                            @Value("${quizmaster.delta.chunk-size:500}") int chunkSize) {
+        this.quizService = quizService;
+        this.quizRepository = quizRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.bulkDeleteService = bulkDeleteService;
+        this.answerKeyCache = answerKeyCache;
+        this.payloadCache = payloadCache;
+        this.catalogCacheService = catalogCacheService;
+        this.searchService = searchService;
+        this.statisticsService = statisticsService;
+        this.entityManager = entityManager;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.safetyLagMillis = Math.max(0, safetyLagMillis);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Writes the quizzes changed and deleted after {@code since} to a delta
+     * file in the export directory.
+     *
+     * @param since watermark returned by the previous delta, or null for a full delta
+     */
+    public DeltaExportResult exportDelta(String filename, LocalDateTime since) throws IOException {
+        long start = System.currentTimeMillis();
+        LocalDateTime until = LocalDateTime.now().minusNanos(safetyLagMillis * 1_000_000);
+        if (since != null && since.isAfter(until)) {
+            // asked again within the lag: nothing is settled yet
+            until = since;
+        }
+        LocalDateTime from = since != null ? since : BEGINNING;
+        LocalDateTime to = until;
+        Path path = JsonSerializer.resolveExportPath(filename);
+        long quizzes;
+        long deletes;
+        try (QuizDeltaJsonWriter writer = new QuizDeltaJsonWriter(path, since, until)) {
+            for (QuizTombstone tombstone : tombstoneRepository.findDeletedBetween(from, to)) {
+                writer.writeDeletion(tombstone);
+            }
+            quizService.forEachQuizUpdatedBetween(from, to, quiz -> {
+                try {
+                    writer.write(quiz);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+            quizzes = writer.getCount();
+            deletes = writer.getDeletionCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        DeltaExportResult result = new DeltaExportResult(path, since, until, quizzes, deletes,
+                System.currentTimeMillis() - start);
+        System.out.println("Delta exported: " + result);
+        return result;
+    }
+
+    /**
+     * Applies a delta file: deletions first, then creates and updates, each
+     * in chunks with their own transaction.
+     */
+    public DeltaImportResult importDelta(Path source) {
+        long start = System.currentTimeMillis();
+        DeltaImportResult result = new DeltaImportResult(source.toString());
+        try (QuizDeltaJsonReader reader = new QuizDeltaJsonReader(source)) {
+            result.setWatermarks(reader.getSince(), reader.getUntil());
+
+            List<QuizTombstone> deletions = new ArrayList<>(chunkSize);
+            for (long index = 0; ; index++) {
+                QuizTombstone tombstone;
+                try {
+                    tombstone = reader.nextDeletion();
+                } catch (MalformedQuizException e) {
+                    result.skip("deletion #" + index, e.getMessage());
+                    continue;
+                }
+                if (tombstone == null) {
+                    break;
+                }
+                deletions.add(tombstone);
+                if (deletions.size() == chunkSize) {
+                    applyDeletions(deletions, result);
+                }
+            }
+            applyDeletions(deletions, result);
+
+            List<QuizEntity> upserts = new ArrayList<>(chunkSize);
+            for (long index = 0; ; index++) {
+                QuizEntity quiz;
+                try {
+                    quiz = reader.next();
+                } catch (MalformedQuizException e) {
+                    result.skip("quiz #" + index, e.getMessage());
+                    continue;
+                }
+                if (quiz == null) {
+                    break;
+                }
+                try {
+                    QuizCatalogImportService.validate(quiz);
+                    if (quiz.getUid() == null || quiz.getUid().isBlank()) {
+                        throw new IllegalArgumentException("missing uid");
+                    }
+                } catch (IllegalArgumentException e) {
+                    result.skip("quiz #" + index, e.getMessage());
+                    continue;
+                }
+                upserts.add(quiz);
+                if (upserts.size() == chunkSize) {
+                    applyUpserts(upserts, result);
+                }
+            }
+            applyUpserts(upserts, result);
+        } catch (IOException e) {
+            result.abort(e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage());
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        System.out.println("Delta applied: " + result);
+        return result;
+    }
+
+    private void applyDeletions(List<QuizTombstone> chunk, DeltaImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, LocalDateTime> deletedAt = new HashMap<>();
+        chunk.forEach(tombstone -> deletedAt.put(tombstone.getUid(), tombstone.getDeletedAt()));
+        List<Long> ids = chunkTransaction.execute(status -> quizRepository.findByUidIn(deletedAt.keySet()).stream()
+                .filter(quiz -> quiz.getUpdatedAt() == null
+                        || !quiz.getUpdatedAt().isAfter(deletedAt.get(quiz.getUid())))
+                .map(QuizEntity::getId)
+                .toList());
+        int deleted = ids.isEmpty() ? 0 : bulkDeleteService.deleteByIds(ids).getQuizzes();
+        result.countDeleted(deleted);
+        result.countAlreadyDeleted(chunk.size() - deleted);
+        chunk.clear();
+    }
+
+    private void applyUpserts(List<QuizEntity> chunk, DeltaImportResult result) {
+        ChunkFallback.apply(chunk, quizzes -> {
+            int[] counts = chunkTransaction.execute(status -> upsert(quizzes));
+            result.countCreated(counts[0]);
+            result.countUpdated(counts[1]);
+            result.countUnchanged(counts[2]);
+        }, (quiz, position, e) -> result.skip("quiz " + quiz.getUid(), e.getMessage()));
+        chunk.clear();
+    }
+
+    /**
+     * @return created, updated and unchanged counts
+     */
+    private int[] upsert(List<QuizEntity> incoming) {
+        List<String> uids = incoming.stream().map(QuizEntity::getUid).toList();
+        Map<String, QuizEntity> existing = new HashMap<>();
+        quizRepository.findByUidIn(uids).forEach(quiz -> existing.put(quiz.getUid(), quiz));
+        int[] counts = new int[3];
+        List<String> created = new ArrayList<>();
+        for (QuizEntity quiz : incoming) {
+            QuizEntity current = existing.get(quiz.getUid());
+            if (current == null) {
+                String uid = quiz.getUid();
+                LocalDateTime updatedAt = quiz.getUpdatedAt();
+                quiz.clearIds();
+                quiz.setUid(uid);
+                quiz.setUpdatedAt(updatedAt);
+                entityManager.persist(quiz);
+                searchService.indexAfterCommit(quiz);
+                created.add(uid);
+                counts[0]++;
+            } else if (current.getUpdatedAt() != null && quiz.getUpdatedAt() != null
+                    && !current.getUpdatedAt().isBefore(quiz.getUpdatedAt())) {
+                counts[2]++;
+            } else {
+                List<Long> removedQuestions = copyInto(current, quiz);
+                if (!removedQuestions.isEmpty()) {
+                    quizRepository.deleteStatisticsByQuestionIds(removedQuestions);
+                    statisticsService.removeQuestionsAfterCommit(current.getId(), removedQuestions);
+                }
+                answerKeyCache.invalidateAfterCommit(current.getId());
+                payloadCache.invalidateAfterCommit(current.getId());
+                catalogCacheService.evictQuizAfterCommit(current.getId());
+                searchService.indexAfterCommit(current);
+                counts[1]++;
+            }
+        }
+        if (!created.isEmpty()) {
+            // a re-created quiz is live again
+            tombstoneRepository.deleteByUids(created);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return counts;
+    }
+
+    /**
+     * Updates questions and answers in place, matched by position in id
+     * order, so their ids and the statistics kept under them survive the update.
+     *
+     * @return the ids of the questions the incoming quiz no longer has
+     */
+    private static List<Long> copyInto(QuizEntity current, QuizEntity incoming) {
+        current.setTitle(incoming.getTitle());
+        current.setDescription(incoming.getDescription());
+        current.setTimeLimit(incoming.getTimeLimit());
+        List<QuizQuestion> questions = current.getQuestions();
+        List<QuizQuestion> incomingQuestions = incoming.getQuestions();
+        List<Long> removed = new ArrayList<>();
+        while (questions.size() > incomingQuestions.size()) {
+            QuizQuestion question = questions.get(questions.size() - 1);
+            removed.add(question.getId());
+            current.removeQuestion(question);
+        }
+        for (int i = 0; i < incomingQuestions.size(); i++) {
+            QuizQuestion source = incomingQuestions.get(i);
+            if (i == questions.size()) {
+                source.setId(null);
+                source.getAnswers().forEach(answer -> answer.setId(null));
+                current.addQuestion(source);
+                continue;
+            }
+            QuizQuestion question = questions.get(i);
+            question.setQuestionText(source.getQuestionText());
+            question.setPoints(source.getPoints());
+            question.setDifficulty(source.getDifficultyLevel());
+            copyAnswers(question, source);
+        }
+        // the setters above stamp the local time; keep the source's
+        current.setCreatedAt(incoming.getCreatedAt());
+        current.setUpdatedAt(incoming.getUpdatedAt());
+        return removed;
+    }
+
+    private static void copyAnswers(QuizQuestion question, QuizQuestion source) {
+        List<QuizAnswer> answers = question.getAnswers();
+        List<QuizAnswer> incomingAnswers = source.getAnswers();
+        while (answers.size() > incomingAnswers.size()) {
+            question.removeAnswer(answers.get(answers.size() - 1));
+        }
+        for (int i = 0; i < incomingAnswers.size(); i++) {
+            QuizAnswer answer = incomingAnswers.get(i);
+            if (i == answers.size()) {
+                answer.setId(null);
+                question.addAnswer(answer);
+            } else {
+                answers.get(i).setAnswerText(answer.getAnswerText());
+                answers.get(i).setCorrect(answer.isCorrect());
+            }
+        }
+    }
+}
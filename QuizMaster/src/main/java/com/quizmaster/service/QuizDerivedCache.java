@@ -0,0 +1,126 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.repository.QuizRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Base of the caches of values built from one quiz, by quiz id.
+ * Hits never open a transaction; a miss loads the quiz in a read-only
+ * transaction and builds the value once. A value built while the quiz was
+ * being invalidated is returned but not cached.
+ */
+abstract class QuizDerivedCache<V> {
+
+    protected final ConcurrentMap<Long, V> entries = new ConcurrentHashMap<>();
+    // bumped on every invalidation so a load racing with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final QuizRepository quizRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    protected QuizDerivedCache(QuizRepository quizRepository, PlatformTransactionManager transactionManager) {
+        this.quizRepository = quizRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param build turns the loaded quiz into the cached value; runs inside the transaction
+     */
+    protected final Optional<V> get(Long quizId, Function<QuizEntity, V> build) {
+        V value = entries.get(quizId);
+        if (value != null) {
+            hits.incrementAndGet();
+            return Optional.of(value);
+        }
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        V built = readOnlyTransaction.execute(status -> quizRepository.findById(quizId).map(build).orElse(null));
+        return built == null ? Optional.empty() : Optional.of(store(quizId, built, loadGeneration));
+    }
+
+    /**
+     * @return the generation to hand to {@link #store} for a value built outside {@link #get}
+     */
+    protected final long startLoad() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a value built from the quiz as of {@code loadGeneration},
+     * unless the quiz was invalidated since.
+     *
+     * @return the value callers should use
+     */
+    protected final V store(Long quizId, V built, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return built;
+        }
+        return admit(quizId, built);
+    }
+
+    /**
+     * Puts a freshly built value; by default the first one cached wins.
+     */
+    protected V admit(Long quizId, V built) {
+        V existing = entries.putIfAbsent(quizId, built);
+        return existing != null ? existing : built;
+    }
+
+    protected final void countHit() {
+        hits.incrementAndGet();
+    }
+
+    protected final void countMiss() {
+        misses.incrementAndGet();
+    }
+
+    public void invalidate(Long quizId) {
+        generation.incrementAndGet();
+        entries.remove(quizId);
+    }
+
+    /**
+     * Invalidates now and again once the surrounding transaction commits,
+     * so a reader cannot re-cache the pre-commit state in between.
+     */
+    public void invalidateAfterCommit(Long quizId) {
+        invalidate(quizId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(quizId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
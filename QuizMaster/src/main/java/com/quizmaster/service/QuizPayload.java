@@ -0,0 +1,44 @@
+package com.quizmaster.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * A quiz serialized to compact JSON, with the strong ETag of exactly these
+ * bytes. Shared between readers, so the body must not be modified.
+ */
+public class QuizPayload {
+
+    private final Long quizId;
+    private final LocalDateTime updatedAt;
+    private final byte[] body;
+    private final String eTag;
+
+    QuizPayload(Long quizId, LocalDateTime updatedAt, byte[] body, String eTag) {
+        this.quizId = quizId;
+        this.updatedAt = updatedAt;
+        this.body = body;
+        this.eTag = eTag;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    /**
+     * @return the quiz version this payload was serialized from
+     */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @return quoted entity tag, ready for the {@code ETag} header
+     */
+    public String getETag() {
+        return eTag;
+    }
+}
@@ -0,0 +1,119 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.repository.QuizRepository;
+import com.quizmaster.util.JsonSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cache of serialized quiz payloads by quiz id, tagged with the
+ * {@code updatedAt} they were built from. A hit costs neither a transaction
+ * nor serialization; a payload found for an older {@code updatedAt} than
+ * the caller's quiz is rebuilt. Entries are dropped by {@link QuizService}
+ * whenever a quiz changes. Bounded by {@code quizmaster.payload-cache.max-entries};
+ * beyond that, arbitrary entries make room.
+ */
+@Component
+public class QuizPayloadCache extends QuizDerivedCache<QuizPayload> {
+
+    private final int maxEntries;
+
+    public QuizPayloadCache(QuizRepository quizRepository, PlatformTransactionManager transactionManager,
+                            @Value("${quizmaster.payload-cache.max-entries:5000}") int maxEntries) {
+        super(quizRepository, transactionManager);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public Optional<QuizPayload> get(Long quizId) {
+        return get(quizId, QuizPayloadCache::serialize);
+    }
+
+    /**
+     * Payload of a quiz the caller has already loaded, reused if it was
+     * serialized from the same {@code updatedAt}.
+     */
+    public QuizPayload get(QuizEntity quiz) {
+        if (quiz.getId() == null) {
+            return serialize(quiz);
+        }
+        QuizPayload payload = entries.get(quiz.getId());
+        if (payload != null && Objects.equals(payload.getUpdatedAt(), quiz.getUpdatedAt())) {
+            countHit();
+            return payload;
+        }
+        countMiss();
+        long loadGeneration = startLoad();
+        return store(quiz.getId(), serialize(quiz), loadGeneration);
+    }
+
+    public Map<String, Object> getMetrics() {
+        long bytes = 0;
+        for (QuizPayload payload : entries.values()) {
+            bytes += payload.getBody().length;
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("entries", entries.size());
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("bytes", bytes);
+        metrics.put("hits", getHits());
+        metrics.put("misses", getMisses());
+        return metrics;
+    }
+
+    /**
+     * Replaces an entry built from an older {@code updatedAt}, then evicts
+     * arbitrary other entries down to the bound.
+     */
+    @Override
+    protected QuizPayload admit(Long quizId, QuizPayload built) {
+        QuizPayload existing = entries.get(quizId);
+        if (existing != null && !isOlder(existing, built)) {
+            return existing;
+        }
+        entries.put(quizId, built);
+        Iterator<Long> victims = entries.keySet().iterator();
+        while (entries.size() > maxEntries && victims.hasNext()) {
+            Long victim = victims.next();
+            if (!victim.equals(quizId)) {
+                victims.remove();
+            }
+        }
+        return built;
+    }
+
+    private static boolean isOlder(QuizPayload existing, QuizPayload built) {
+        return existing.getUpdatedAt() == null
+                || (built.getUpdatedAt() != null && existing.getUpdatedAt().isBefore(built.getUpdatedAt()));
+    }
+
+    private static QuizPayload serialize(QuizEntity quiz) {
+        try {
+            byte[] body = JsonSerializer.quizToJsonBytes(quiz);
+            return new QuizPayload(quiz.getId(), quiz.getUpdatedAt(), body, eTag(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize quiz " + quiz.getId(), e);
+        }
+    }
+
+    private static String eTag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
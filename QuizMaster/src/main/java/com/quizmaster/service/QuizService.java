@@ -2,16 +2,40 @@ package com.quizmaster.service;
 
 import com.quizmaster.model.QuizEntity;
 import com.quizmaster.model.QuizQuestion;
+import com.quizmaster.model.QuizSummary;
 import com.quizmaster.repository.QuizRepository;
+import com.quizmaster.search.QuizSearchService;
+import com.quizmaster.search.SearchCursor;
+import com.quizmaster.search.SearchHit;
 import com.quizmaster.util.JsonSerializer;
+import com.quizmaster.util.KeysetCursor;
+import com.quizmaster.util.KeysetPage;
+import com.quizmaster.util.QuizCatalogFormat;
+import com.quizmaster.util.QuizCatalogWriter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.data.domain.Limit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for Quiz business logic.
@@ -21,21 +45,71 @@ import java.util.Optional;
 @Transactional
 public class QuizService {
     
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final QuizRepository quizRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizPayloadCache payloadCache;
+    private final EntityManager entityManager;
+    private final QuizSearchService searchService;
+    private final CatalogCacheService catalogCacheService;
+    private final int batchSize;
     
     @Autowired
-    public QuizService(QuizRepository quizRepository) {
+    public QuizService(QuizRepository quizRepository, AnswerKeyCache answerKeyCache,
+                       QuizPayloadCache payloadCache,
+                       EntityManager entityManager, QuizSearchService searchService,
+                       CatalogCacheService catalogCacheService,
+                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.quizRepository = quizRepository;
+        this.answerKeyCache = answerKeyCache;
+        this.payloadCache = payloadCache;
+        this.entityManager = entityManager;
+        this.searchService = searchService;
+        this.catalogCacheService = catalogCacheService;
+        this.batchSize = Math.max(1, batchSize);
     }
 
     public QuizEntity createQuiz(QuizEntity quiz) {
-        return quizRepository.save(quiz);
+        QuizEntity saved = quizRepository.save(quiz);
+        searchService.indexAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * Persists many new quiz graphs in one transaction. Ids come from pooled
+     * sequences, so Hibernate can group the inserts of each table into JDBC
+     * batches; the persistence context is flushed and cleared every
+     * {@code batch_size} rows to keep it small. The returned quizzes are detached.
+     */
+    public List<QuizEntity> createQuizzes(List<QuizEntity> quizzes) {
+        int pendingRows = 0;
+        for (QuizEntity quiz : quizzes) {
+            entityManager.persist(quiz);
+            searchService.indexAfterCommit(quiz);
+            pendingRows += 1 + quiz.getQuestions().stream()
+                    .mapToInt(question -> 1 + question.getAnswers().size())
+                    .sum();
+            if (pendingRows >= batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pendingRows = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return quizzes;
     }
 
     public Optional<QuizEntity> getQuizById(Long id) {
         return quizRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public long countQuizzes() {
+        return quizRepository.count();
+    }
+
     public List<QuizEntity> getAllQuizzes() {
         return quizRepository.findAll();
     }
@@ -46,21 +120,203 @@ public class QuizService {
                     existingQuiz.setTitle(updatedQuiz.getTitle());
                     existingQuiz.setDescription(updatedQuiz.getDescription());
                     existingQuiz.setTimeLimit(updatedQuiz.getTimeLimit());
-                    return quizRepository.save(existingQuiz);
+                    answerKeyCache.invalidateAfterCommit(id);
+                    payloadCache.invalidateAfterCommit(id);
+                    catalogCacheService.evictQuizAfterCommit(id);
+                    QuizEntity saved = quizRepository.save(existingQuiz);
+                    searchService.indexAfterCommit(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + id));
     }
 
-    public boolean deleteQuiz(Long id) {
-        if (quizRepository.existsById(id)) {
-            quizRepository.deleteById(id);
-            return true;
+    public List<QuizEntity> searchQuizzesByTitle(String title) {
+        return quizRepository.findByTitleContainingIgnoreCase(title);
+    }
+
+    /**
+     * Lightweight list view of every quiz, built by one aggregate query.
+     */
+    @Transactional(readOnly = true)
+    public List<QuizSummary> getQuizSummaries() {
+        return quizRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public List<QuizSummary> searchQuizSummaries(String title) {
+        return quizRepository.findSummariesByTitle(title);
+    }
+
+    /**
+     * Quiz summaries in id order, one keyset page at a time.
+     *
+     * @param after cursor from the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<QuizSummary> getQuizSummaryPage(String after, int size) {
+        int pageSize = clampPageSize(size);
+        long afterId = after != null ? KeysetCursor.decode(after).getId() : 0L;
+        return KeysetPage.of(quizRepository.findSummariesAfterId(afterId, Limit.of(pageSize + 1)),
+                pageSize, summary -> KeysetCursor.ofId(summary.getId()).encode());
+    }
+
+    /**
+     * Full-text search over titles, questions and answers, best match first.
+     * Ranking comes from the in-memory index, paginated on (score, id) with a
+     * {@link SearchCursor}.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<QuizSummary> searchQuizSummaryPage(String query, String after, int size) {
+        int pageSize = clampPageSize(size);
+        SearchCursor cursor = after != null ? SearchCursor.decode(after) : null;
+        List<SearchHit> hits = searchService.search(query, cursor, pageSize + 1).getHits();
+        // the extra hit only signals that another page exists
+        List<SearchHit> page = hits.subList(0, Math.min(pageSize, hits.size()));
+        List<Long> ids = page.stream().map(SearchHit::getQuizId).collect(Collectors.toList());
+        Map<Long, QuizSummary> byId = ids.isEmpty() ? Map.of()
+                : quizRepository.findSummariesByIds(ids).stream()
+                        .collect(Collectors.toMap(QuizSummary::getId, Function.identity()));
+
+        List<QuizSummary> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            // a quiz deleted since it was indexed is left out
+            QuizSummary summary = byId.get(id);
+            if (summary != null) {
+                ranked.add(summary);
+            }
         }
-        return false;
+        String nextCursor = hits.size() > pageSize ? SearchCursor.after(page.get(pageSize - 1)).encode() : null;
+        return new KeysetPage<>(ranked, nextCursor);
     }
 
-    public List<QuizEntity> searchQuizzesByTitle(String title) {
-        return quizRepository.findByTitleContainingIgnoreCase(title);
+    /**
+     * Quiz summaries newest first, paginated on (createdAt, id).
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<QuizSummary> getNewestQuizSummaryPage(String after, int size) {
+        int pageSize = clampPageSize(size);
+        KeysetCursor cursor = after != null ? KeysetCursor.decode(after) : null;
+        List<QuizSummary> rows = cursor == null || cursor.getCreatedAt() == null
+                ? quizRepository.findNewestSummaries(Limit.of(pageSize + 1))
+                : quizRepository.findSummariesCreatedBefore(cursor.getCreatedAt(), cursor.getId(), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize,
+                summary -> KeysetCursor.of(summary.getCreatedAt(), summary.getId()).encode());
+    }
+
+    public KeysetPage<QuizEntity> getQuizPage(String after, int size) {
+        int pageSize = clampPageSize(size);
+        long afterId = after != null ? KeysetCursor.decode(after).getId() : 0L;
+        return KeysetPage.of(quizRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1)),
+                pageSize, quiz -> KeysetCursor.ofId(quiz.getId()).encode());
+    }
+
+    public KeysetPage<QuizEntity> getQuizzesOrderedByDate(String after, int size) {
+        int pageSize = clampPageSize(size);
+        KeysetCursor cursor = after != null ? KeysetCursor.decode(after) : null;
+        List<QuizEntity> rows = cursor == null || cursor.getCreatedAt() == null
+                ? quizRepository.findAllByOrderByCreatedAtDescIdDesc(Limit.of(pageSize + 1))
+                : quizRepository.findCreatedBefore(cursor.getCreatedAt(), cursor.getId(), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, quiz -> KeysetCursor.of(quiz.getCreatedAt(), quiz.getId()).encode());
+    }
+
+    /**
+     * Streams every quiz through {@code action} for batch jobs. Each quiz is
+     * detached once processed, so memory stays flat however large the
+     * catalog is. Lazy collections must be initialized inside the action.
+     * The scan bypasses the second-level cache so it does not evict the
+     * entries serving interactive traffic.
+     *
+     * @return number of quizzes processed
+     */
+    @Transactional(readOnly = true)
+    public long forEachQuiz(Consumer<QuizEntity> action) {
+        return forEach(quizRepository::streamAllOrderById, action);
+    }
+
+    /**
+     * Like {@link #forEachQuiz}, for the quizzes last changed in (since, until],
+     * oldest change first.
+     */
+    @Transactional(readOnly = true)
+    public long forEachQuizUpdatedBetween(LocalDateTime since, LocalDateTime until, Consumer<QuizEntity> action) {
+        return forEach(() -> quizRepository.streamUpdatedBetween(since, until), action);
+    }
+
+    /**
+     * Like {@link #forEachQuiz}, for the quizzes with exactly this title.
+     */
+    @Transactional(readOnly = true)
+    public long forEachQuizWithTitle(String title, Consumer<QuizEntity> action) {
+        return forEach(() -> quizRepository.streamByTitle(title), action);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getQuizTitles() {
+        return quizRepository.findAllTitles();
+    }
+
+    private long forEach(Supplier<Stream<QuizEntity>> query, Consumer<QuizEntity> action) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        long count = 0;
+        try (Stream<QuizEntity> quizzes = query.get()) {
+            for (QuizEntity quiz : (Iterable<QuizEntity>) quizzes::iterator) {
+                action.accept(quiz);
+                entityManager.detach(quiz);
+                count++;
+            }
+        } finally {
+            session.setCacheMode(previousMode);
+        }
+        return count;
+    }
+
+    /**
+     * Exports the whole catalog as one JSON array, streaming quiz by quiz.
+     */
+    @Transactional(readOnly = true)
+    public Path exportCatalogToJson(String filename) throws IOException {
+        return exportCatalog(filename, QuizCatalogFormat.JSON, false);
+    }
+
+    /**
+     * Streams the whole catalog to a file in the export directory.
+     *
+     * @param compress deflate the data blocks of a binary export
+     */
+    @Transactional(readOnly = true)
+    public Path exportCatalog(String filename, QuizCatalogFormat format, boolean compress) throws IOException {
+        return exportCatalog(filename, format, compress, false);
+    }
+
+    /**
+     * @param append add to the end of an existing file instead of replacing
+     *        it; only for formats that {@link QuizCatalogFormat#supportsAppend support it}
+     */
+    @Transactional(readOnly = true)
+    public Path exportCatalog(String filename, QuizCatalogFormat format, boolean compress, boolean append) throws IOException {
+        long start = System.currentTimeMillis();
+        Path path = JsonSerializer.resolveExportPath(filename, format.getExtension());
+        try (QuizCatalogWriter writer = format.openWriter(path, compress, append)) {
+            forEachQuiz(quiz -> {
+                try {
+                    writer.write(quiz);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+            System.out.println(writer.getCount() + " quizzes " + (append ? "appended to " : "exported to ") + path.toAbsolutePath() +
+                    " in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return path;
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     public List<QuizEntity> getQuizzesOrderedByDate() {
@@ -68,41 +324,53 @@ public class QuizService {
     }
 
     public QuizEntity addQuestionToQuiz(Long quizId, QuizQuestion question) {
-        return quizRepository.findById(quizId)
+        return quizRepository.findByIdForUpdate(quizId)
                 .map(quiz -> {
                     quiz.addQuestion(question);
-                    return quizRepository.save(quiz);
+                    answerKeyCache.invalidateAfterCommit(quizId);
+                    payloadCache.invalidateAfterCommit(quizId);
+                    catalogCacheService.evictQuizAfterCommit(quizId);
+                    QuizEntity saved = quizRepository.save(quiz);
+                    searchService.indexAfterCommit(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + quizId));
     }
 
+    /**
+     * Returns the compiled answer key, building it on first use.
+     * Runs outside a transaction so cache hits stay off the database.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<AnswerKey> getAnswerKey(Long quizId) {
+        return answerKeyCache.get(quizId);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<GradingResult> gradeSubmission(Long quizId, Map<String, String> answers) {
+        return answerKeyCache.get(quizId).map(key -> key.grade(answers));
+    }
+
+    /**
+     * Serialized form of a quiz for API responses, from {@link QuizPayloadCache}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<QuizPayload> getQuizPayload(Long quizId) {
+        return payloadCache.get(quizId);
+    }
+
     public Path exportQuizToJson(Long quizId, String filename) throws IOException {
         QuizEntity quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + quizId));
-        return JsonSerializer.saveQuizToJson(quiz, filename);
+        Path path = JsonSerializer.resolveExportPath(filename);
+        Files.write(path, payloadCache.get(quiz).getBody());
+        System.out.println("Quiz saved to: " + path.toAbsolutePath());
+        return path;
     }
 
     public QuizEntity importQuizFromJson(String filepath) throws IOException {
         QuizEntity quiz = JsonSerializer.loadQuizFromJson(filepath);
-        // Reset IDs for new entities
-        quiz.setId(null);
-        quiz.getQuestions().forEach(q -> {
-            q.setId(null);
-            q.getAnswers().forEach(a -> a.setId(null));
-        });
-        return quizRepository.save(quiz);
-    }
-
-    public String getQuizStatistics(Long quizId) {
-        return quizRepository.findById(quizId)
-                .map(quiz -> String.format(
-                    "Quiz: %s%nQuestions: %d%nTotal Points: %d%nTime Limit: %d minutes%nValid: %s",
-                    quiz.getTitle(),
-                    quiz.getQuestionCount(),
-                    quiz.getTotalPoints(),
-                    quiz.getTimeLimit(),
-                    quiz.isValid() ? "Yes" : "No"
-                ))
-                .orElse("Quiz not found");
+        quiz.clearIds();
+        return createQuiz(quiz);
     }
 }
@@ -0,0 +1,141 @@
+package com.quizmaster.service;
+
+import com.quizmaster.concurrency.HashedTimerWheel;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Server-side state of one timed quiz attempt: the deadline and the answers
+ * saved so far. A session is closed exactly once, either by the participant
+ * submitting or by the timer expiring it.
+ */
+public class QuizSession {
+
+    public enum State {
+        ACTIVE, SUBMITTED, EXPIRED
+    }
+
+    private final String id;
+    private final AnswerKey key;
+    private final String participant;
+    private final Instant startedAt;
+    private final Instant expiresAt;
+    private final long[] selection; // guarded by this
+    private final AtomicReference<State> state = new AtomicReference<>(State.ACTIVE);
+    private volatile GradingResult result;
+    private volatile HashedTimerWheel.Timeout timeout;
+
+    QuizSession(String id, AnswerKey key, String participant, Instant startedAt, Instant expiresAt) {
+        this.id = id;
+        this.key = key;
+        this.participant = participant;
+        this.startedAt = startedAt;
+        this.expiresAt = expiresAt;
+        this.selection = key.newSelection();
+    }
+
+    /**
+     * @return false if the question is not part of the quiz or the session is closed
+     */
+    boolean saveAnswer(long questionId, long answerId) {
+        int index = key.indexOf(questionId);
+        if (index < 0 || !isActive()) {
+            return false;
+        }
+        synchronized (this) {
+            selection[index] = answerId;
+        }
+        return true;
+    }
+
+    synchronized long[] snapshotSelection() {
+        return selection.clone();
+    }
+
+    boolean close(State closedState, GradingResult gradingResult) {
+        if (!state.compareAndSet(State.ACTIVE, closedState)) {
+            return false;
+        }
+        result = gradingResult;
+        HashedTimerWheel.Timeout pendingTimeout = timeout;
+        if (pendingTimeout != null) {
+            pendingTimeout.cancel();
+        }
+        return true;
+    }
+
+    void setTimeout(HashedTimerWheel.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getQuizId() {
+        return key.getQuizId();
+    }
+
+    AnswerKey getKey() {
+        return key;
+    }
+
+    public String getParticipant() {
+        return participant;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return whether the deadline plus {@code graceMillis} has passed, closed or not
+     */
+    boolean isPastDeadline(long graceMillis) {
+        return System.currentTimeMillis() > expiresAt.toEpochMilli() + graceMillis;
+    }
+
+    public long getRemainingMillis() {
+        return Math.max(0, expiresAt.toEpochMilli() - System.currentTimeMillis());
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isActive() {
+        return state.get() == State.ACTIVE;
+    }
+
+    public boolean isExpired() {
+        return state.get() == State.EXPIRED;
+    }
+
+    /**
+     * @return the graded outcome once the session is closed, otherwise null
+     */
+    public GradingResult getResult() {
+        return result;
+    }
+
+    /**
+     * Saved answers keyed by question id, for re-rendering the form.
+     */
+    public Map<Long, Long> getSavedAnswers() {
+        long[] saved = snapshotSelection();
+        Map<Long, Long> answers = new LinkedHashMap<>();
+        for (int i = 0; i < saved.length; i++) {
+            if (saved[i] != AnswerKey.NO_ANSWER) {
+                answers.put(key.getQuestionId(i), saved[i]);
+            }
+        }
+        return answers;
+    }
+}
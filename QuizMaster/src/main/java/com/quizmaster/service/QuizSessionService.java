@@ -0,0 +1,178 @@
+package com.quizmaster.service;
+
+import com.quizmaster.concurrency.HashedTimerWheel;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces quiz time limits on the server.
+ * Starting a timed quiz opens a {@link QuizSession}; its expiry is scheduled
+ * on a hashed timer wheel, so any number of open sessions costs one worker
+ * thread and O(1) per tick. An expired session is auto-submitted with the
+ * answers saved so far.
+ */
+@Service
+public class QuizSessionService {
+
+    private final ConcurrentMap<String, QuizSession> sessions = new ConcurrentHashMap<>();
+    private final QuizService quizService;
+    private final QuizAttemptService quizAttemptService;
+    private final ExecutorService expiryExecutor;
+    private final HashedTimerWheel timerWheel;
+    private final long graceMillis;
+    private final long retentionMillis;
+
+    public QuizSessionService(QuizService quizService,
+                              QuizAttemptService quizAttemptService,
+                              @Value("${quizmaster.sessions.tick-ms:100}") long tickMillis,
+                              @Value("${quizmaster.sessions.wheel-size:512}") int wheelSize,
+                              @Value("${quizmaster.sessions.grace-seconds:5}") long graceSeconds,
+                              @Value("${quizmaster.sessions.retention-seconds:600}") long retentionSeconds) {
+        this.quizService = quizService;
+        this.quizAttemptService = quizAttemptService;
+        this.graceMillis = TimeUnit.SECONDS.toMillis(graceSeconds);
+        this.retentionMillis = TimeUnit.SECONDS.toMillis(retentionSeconds);
+        this.expiryExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timerWheel = new HashedTimerWheel("quiz-session-timer", tickMillis, TimeUnit.MILLISECONDS,
+                wheelSize, expiryExecutor);
+    }
+
+    /**
+     * Opens a session for a timed quiz.
+     *
+     * @return empty if the quiz does not exist or has no time limit
+     */
+    public Optional<QuizSession> start(Long quizId, String participant) {
+        return quizService.getAnswerKey(quizId)
+                .filter(AnswerKey::isTimed)
+                .map(key -> {
+                    Instant now = Instant.now();
+                    Instant expiresAt = now.plusSeconds(TimeUnit.MINUTES.toSeconds(key.getTimeLimit()));
+                    QuizSession session = new QuizSession(UUID.randomUUID().toString(), key, participant, now, expiresAt);
+                    sessions.put(session.getId(), session);
+                    // the grace period absorbs the latency of a submit sent right at the deadline
+                    session.setTimeout(timerWheel.schedule(() -> expire(session),
+                            expiresAt.toEpochMilli() - now.toEpochMilli() + graceMillis, TimeUnit.MILLISECONDS));
+                    return session;
+                });
+    }
+
+    public Optional<QuizSession> getSession(String sessionId) {
+        return sessionId == null ? Optional.empty() : Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    /**
+     * Returns the open session for the quiz if there is one, otherwise starts a
+     * new one, so reloading the page does not reset the clock.
+     */
+    public Optional<QuizSession> resume(String sessionId, Long quizId, String participant) {
+        return getSession(sessionId)
+                .filter(session -> session.isActive() && session.getQuizId() == quizId)
+                .or(() -> start(quizId, participant));
+    }
+
+    /**
+     * @return false if the session is unknown, closed or past its deadline
+     */
+    public boolean saveAnswer(String sessionId, long questionId, long answerId) {
+        return getSession(sessionId)
+                .map(session -> !expireIfLate(session) && session.saveAnswer(questionId, answerId))
+                .orElse(false);
+    }
+
+    /**
+     * Grades and records a submission for a timed quiz through its session.
+     * The deadline is checked here rather than left to the timer: a submit
+     * arriving after it, grace included, expires the session with only the
+     * answers saved in time. A session that already expired keeps its
+     * auto-submitted result and ignores the late answers.
+     *
+     * @return empty if the session is unknown or belongs to another quiz
+     */
+    public Optional<QuizSession> submit(Long quizId, String sessionId, String participant,
+                                        Map<String, String> answers) {
+        Optional<QuizSession> existing = getSession(sessionId)
+                .filter(session -> session.getQuizId() == quizId);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        QuizSession session = existing.get();
+        if (expireIfLate(session)) {
+            return Optional.of(session);
+        }
+        GradingResult result = session.getKey().grade(answers);
+        if (session.close(QuizSession.State.SUBMITTED, result)) {
+            sessions.remove(session.getId());
+            quizAttemptService.record(result, participant);
+        }
+        return Optional.of(session);
+    }
+
+    public boolean isTimed(Long quizId) {
+        return quizService.getAnswerKey(quizId).map(AnswerKey::isTimed).orElse(false);
+    }
+
+    /**
+     * Expires the session now if its deadline has passed, whether or not the
+     * timer got to it yet; the timer only has to catch abandoned sessions.
+     *
+     * @return whether the session is past its deadline
+     */
+    private boolean expireIfLate(QuizSession session) {
+        if (!session.isPastDeadline(graceMillis)) {
+            return false;
+        }
+        expire(session);
+        return true;
+    }
+
+    private void expire(QuizSession session) {
+        GradingResult result = session.getKey().grade(session.snapshotSelection());
+        if (!session.close(QuizSession.State.EXPIRED, result)) {
+            return;
+        }
+        try {
+            quizAttemptService.record(result, session.getParticipant());
+            System.out.println("Auto-submitted expired session " + session.getId() + " for quiz " +
+                    session.getQuizId() + " (" + result.getCorrectAnswers() + "/" + result.getTotalQuestions() + ")");
+        } finally {
+            // keep the outcome around so a late submit can still show it
+            try {
+                timerWheel.schedule(() -> sessions.remove(session.getId(), session),
+                        retentionMillis, TimeUnit.MILLISECONDS);
+            } catch (IllegalStateException e) {
+                sessions.remove(session.getId(), session);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timerWheel.stop();
+        expiryExecutor.shutdown();
+        try {
+            expiryExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long open = sessions.values().stream().filter(QuizSession::isActive).count();
+        if (open > 0) {
+            System.out.println("Discarding " + open + " open quiz sessions");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.quizmaster.source;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.util.JsonSerializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads quiz definitions from a directory: the quiz for a reference is the
+ * file {@code <reference>.json} in it, as written by
+ * {@link JsonSerializer#saveQuizToJson}.
+ */
+public class FileQuizSource implements QuizSource {
+
+    private final Path directory;
+
+    public FileQuizSource(Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String getName() {
+        return "file:" + directory;
+    }
+
+    @Override
+    public QuizEntity fetch(String reference) throws IOException {
+        Path file = directory.resolve(reference + ".json").normalize();
+        if (!directory.equals(file.getParent())) {
+            throw new QuizSourceException("Not a plain quiz name: " + reference, false);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new QuizSourceException("No quiz file for " + reference, false);
+        }
+        try {
+            return JsonSerializer.jsonToQuiz(Files.readString(file));
+        } catch (JsonProcessingException e) {
+            throw new QuizSourceException("Malformed quiz file " + file.getFileName() + ": "
+                    + e.getOriginalMessage(), false, e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.quizmaster.source;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.util.JsonSerializer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches quiz definitions as JSON from {@code GET <base-url>/quizzes/<reference>}.
+ * The {@link HttpClient} is meant to be shared by every HTTP source: it
+ * keeps its connections alive and reuses them across requests and sources.
+ * <p>
+ * 404 and other client errors are final; 429 and 5xx answers are
+ * retryable, honouring a {@code Retry-After} given in seconds.
+ */
+public class HttpQuizSource implements QuizSource {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final Duration requestTimeout;
+
+    public HttpQuizSource(HttpClient client, URI baseUri, Duration requestTimeout) {
+        this.client = client;
+        String base = baseUri.toString();
+        this.baseUri = URI.create(base.endsWith("/") ? base : base + "/");
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public String getName() {
+        return "http:" + baseUri;
+    }
+
+    @Override
+    public QuizEntity fetch(String reference) throws IOException, InterruptedException {
+        // URLEncoder encodes for forms; a path wants %20 for spaces
+        String path = URLEncoder.encode(reference, StandardCharsets.UTF_8).replace("+", "%20");
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("quizzes/" + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        int status = response.statusCode();
+        if (status == 200) {
+            try {
+                QuizEntity quiz = JsonSerializer.getObjectMapper().readValue(response.body(), QuizEntity.class);
+                if (quiz == null) {
+                    throw new QuizSourceException("Empty quiz body for " + reference, false);
+                }
+                quiz.recalculateAggregates();
+                return quiz;
+            } catch (JsonProcessingException e) {
+                throw new QuizSourceException("Malformed quiz body for " + reference + ": "
+                        + e.getOriginalMessage(), false, e);
+            }
+        }
+        boolean retryable = status == 429 || status >= 500;
+        throw new QuizSourceException("HTTP " + status + " for " + reference, retryable,
+                retryAfterMillis(response), null);
+    }
+
+    private static long retryAfterMillis(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        // an HTTP date; the backoff alone will do
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,29 @@
+package com.quizmaster.source;
+
+import com.quizmaster.model.QuizEntity;
+
+import java.io.IOException;
+
+/**
+ * Where {@link com.quizmaster.concurrency.ExternalQuizLoader} fetches quiz
+ * definitions from. Implementations must be safe to call from many threads
+ * and should give up promptly when the calling thread is interrupted, which
+ * is how the loader cancels a load at its deadline.
+ */
+public interface QuizSource {
+
+    /**
+     * @return short name for logs and metrics
+     */
+    String getName();
+
+    /**
+     * Fetches one quiz definition.
+     *
+     * @param reference what identifies the quiz at the source, e.g. its title
+     * @return a new, unmanaged quiz graph with recalculated aggregates
+     * @throws QuizSourceException if the source answered but gave no quiz
+     * @throws IOException if the source could not be reached
+     */
+    QuizEntity fetch(String reference) throws IOException, InterruptedException;
+}
@@ -0,0 +1,39 @@
+package com.quizmaster.source;
+
+import java.io.IOException;
+
+/**
+ * A fetch that reached the source but did not produce a quiz. Whether
+ * trying again can help is part of the failure: a missing quiz stays
+ * missing, an overloaded server may recover.
+ */
+public class QuizSourceException extends IOException {
+
+    private final boolean retryable;
+    private final long retryAfterMillis;
+
+    public QuizSourceException(String message, boolean retryable) {
+        this(message, retryable, 0, null);
+    }
+
+    public QuizSourceException(String message, boolean retryable, Throwable cause) {
+        this(message, retryable, 0, cause);
+    }
+
+    /**
+     * @param retryAfterMillis least wait the source asked for before the next attempt
+     */
+    public QuizSourceException(String message, boolean retryable, long retryAfterMillis, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+        this.retryAfterMillis = Math.max(0, retryAfterMillis);
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,82 @@
+package com.quizmaster.source;
+
+import com.quizmaster.model.QuizEntity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes each fetch to one of several named sources, each behind its own
+ * {@link ResilientQuizSource}, so a slow or failing source only uses up its
+ * own rate limit and bulkhead. A reference {@code name:quiz} goes to the
+ * source called {@code name}; any other reference goes to the first source.
+ * Sources are registered before the router is shared between threads.
+ */
+public class QuizSourceRouter implements QuizSource, AutoCloseable {
+
+    private static final char SEPARATOR = ':';
+
+    private final Map<String, ResilientQuizSource> sources = new LinkedHashMap<>();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    public void register(String name, ResilientQuizSource source) {
+        if (name.isBlank() || name.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("Invalid quiz source name: '" + name + "'");
+        }
+        if (sources.putIfAbsent(name, source) != null) {
+            throw new IllegalArgumentException("Duplicate quiz source: " + name);
+        }
+    }
+
+    /**
+     * Closes the resource together with the router, e.g. the stub server
+     * behind one of the sources.
+     */
+    public void closeWith(AutoCloseable resource) {
+        resources.add(resource);
+    }
+
+    @Override
+    public String getName() {
+        return String.join(",", sources.keySet());
+    }
+
+    @Override
+    public QuizEntity fetch(String reference) throws IOException, InterruptedException {
+        int separator = reference.indexOf(SEPARATOR);
+        if (separator > 0) {
+            ResilientQuizSource named = sources.get(reference.substring(0, separator));
+            if (named != null) {
+                return named.fetch(reference.substring(separator + 1));
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new IllegalStateException("No quiz sources configured");
+        }
+        return sources.values().iterator().next().fetch(reference);
+    }
+
+    /**
+     * @return the metrics of every source, by name, in registration order
+     */
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+        sources.forEach((name, source) -> metrics.put(name, source.getMetrics()));
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            try {
+                resources.get(i).close();
+            } catch (Exception e) {
+                System.err.println("Failed to close quiz source resource: " + e.getMessage());
+            }
+        }
+        resources.clear();
+    }
+}
@@ -0,0 +1,98 @@
+package com.quizmaster.source;
+
+import com.quizmaster.model.QuizEntity;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Guards one source with limits of its own. {@link QuizSourceRouter} puts
+ * one in front of every named source, so a slow or failing source cannot
+ * take the capacity meant for the others:
+ * <ul>
+ *   <li>a bulkhead of {@code maxConcurrentCalls}; a call that gets no slot
+ *       within {@code bulkheadWaitMillis} fails at once and is not retried</li>
+ *   <li>a token bucket limiting attempts per second, retries included</li>
+ *   <li>a {@link RetryPolicy} for transport and retryable failures</li>
+ * </ul>
+ * The slot is held for one attempt only, not across the backoff.
+ */
+public class ResilientQuizSource implements QuizSource {
+
+    private final QuizSource delegate;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long bulkheadWaitMillis;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final RetryPolicy retryPolicy;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttledNanos = new LongAdder();
+
+    public ResilientQuizSource(QuizSource delegate, int maxConcurrentCalls, long bulkheadWaitMillis,
+                               TokenBucketRateLimiter rateLimiter, RetryPolicy retryPolicy) {
+        this.delegate = delegate;
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.bulkhead = new Semaphore(this.maxConcurrentCalls);
+        this.bulkheadWaitMillis = Math.max(0, bulkheadWaitMillis);
+        this.rateLimiter = rateLimiter;
+        this.retryPolicy = retryPolicy;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public QuizEntity fetch(String reference) throws IOException, InterruptedException {
+        calls.increment();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(reference);
+            } catch (IOException e) {
+                if (attempt >= retryPolicy.getMaxAttempts() || !retryPolicy.isRetryable(e)) {
+                    failures.increment();
+                    throw e;
+                }
+                retries.increment();
+                Thread.sleep(retryPolicy.backoffMillis(attempt, e));
+            }
+        }
+    }
+
+    private QuizEntity attempt(String reference) throws IOException, InterruptedException {
+        // throttled before taking a slot, so waiting for a token does not crowd out the bulkhead
+        throttledNanos.add(rateLimiter.acquire());
+        if (!bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS)) {
+            rejected.increment();
+            throw new QuizSourceException("Too many concurrent calls to " + getName(), false);
+        }
+        try {
+            attempts.increment();
+            return delegate.fetch(reference);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("source", getName());
+        metrics.put("calls", calls.sum());
+        metrics.put("attempts", attempts.sum());
+        metrics.put("retries", retries.sum());
+        metrics.put("failures", failures.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("throttledMillis", TimeUnit.NANOSECONDS.toMillis(throttledNanos.sum()));
+        metrics.put("inFlight", maxConcurrentCalls - bulkhead.availablePermits());
+        return metrics;
+    }
+}
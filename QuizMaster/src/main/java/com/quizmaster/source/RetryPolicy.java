@@ -0,0 +1,64 @@
+package com.quizmaster.source;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries with exponential backoff and full jitter: before attempt
+ * {@code n + 1} it waits a random time between zero and
+ * {@code min(maxDelay, baseDelay * 2^n)}, so clients that failed together
+ * do not come back together. A source's Retry-After hint raises the wait,
+ * still capped at {@code maxDelay}.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * @param maxAttempts attempts in total, the first one included
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = Math.max(1, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * How long each attempt may take so that all of them, with the longest
+     * backoffs in between, finish within {@code deadlineMillis}.
+     */
+    public long attemptBudgetMillis(long deadlineMillis) {
+        return (deadlineMillis - (maxAttempts - 1) * maxDelayMillis) / maxAttempts;
+    }
+
+    /**
+     * Transport failures and failures the source marks as retryable are
+     * worth another attempt.
+     */
+    public boolean isRetryable(IOException failure) {
+        return !(failure instanceof QuizSourceException source) || source.isRetryable();
+    }
+
+    /**
+     * @param attempt attempts made so far, from 1
+     */
+    public long backoffMillis(int attempt, IOException failure) {
+        long ceiling = maxDelayMillis;
+        int shift = attempt - 1;
+        if (shift < Long.numberOfLeadingZeros(baseDelayMillis) - 1) {
+            ceiling = Math.min(maxDelayMillis, baseDelayMillis << shift);
+        }
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (failure instanceof QuizSourceException source) {
+            // honour Retry-After, but never wait longer than the policy allows
+            delay = Math.min(maxDelayMillis, Math.max(delay, source.getRetryAfterMillis()));
+        }
+        return delay;
+    }
+}
@@ -0,0 +1,62 @@
+package com.quizmaster.source;
+
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stands in for a remote source without any I/O: sleeps for a random
+ * latency, then generates a quiz for the requested title.
+ */
+public class SimulatedQuizSource implements QuizSource {
+
+    private final long minLatencyMillis;
+    private final long maxLatencyMillis;
+
+    public SimulatedQuizSource(long minLatencyMillis, long maxLatencyMillis) {
+        this.minLatencyMillis = Math.max(0, minLatencyMillis);
+        this.maxLatencyMillis = Math.max(this.minLatencyMillis, maxLatencyMillis);
+    }
+
+    @Override
+    public String getName() {
+        return "simulated";
+    }
+
+    @Override
+    public QuizEntity fetch(String reference) throws InterruptedException {
+        long spread = maxLatencyMillis - minLatencyMillis;
+        Thread.sleep(minLatencyMillis + (spread > 0 ? ThreadLocalRandom.current().nextLong(spread) : 0));
+        return sampleQuiz(reference);
+    }
+
+    /**
+     * Builds the quiz every simulated source returns for a title: three
+     * medium questions with four answers each, the first one correct.
+     */
+    public static QuizEntity sampleQuiz(String title) {
+        QuizEntity quiz = new QuizEntity(title, "Loaded from external source");
+        quiz.setTimeLimit(30);
+
+        for (int i = 1; i <= 3; i++) {
+            QuizQuestion question = new QuizQuestion(
+                    "Question " + i + " from " + title,
+                    5,
+                    QuizQuestion.DifficultyLevel.MEDIUM
+            );
+
+            for (int j = 1; j <= 4; j++) {
+                QuizAnswer answer = new QuizAnswer(
+                        "Answer " + j + " for question " + i,
+                        j == 1 // First answer is correct
+                );
+                question.addAnswer(answer);
+            }
+
+            quiz.addQuestion(question);
+        }
+        return quiz;
+    }
+}
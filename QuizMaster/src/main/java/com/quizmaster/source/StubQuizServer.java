@@ -0,0 +1,128 @@
+package com.quizmaster.source;
+
+import com.quizmaster.util.JsonSerializer;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded HTTP server on the loopback interface that plays a remote quiz
+ * source for {@link HttpQuizSource}, so loading can be exercised offline.
+ * {@code GET /quizzes/<title>} answers after a random latency with
+ * {@link SimulatedQuizSource#sampleQuiz the sample quiz} for that title, or,
+ * at the configured failure rate, with {@code 503} and a {@code Retry-After}.
+ * Each exchange runs on its own virtual thread. Nothing is bound until
+ * {@link #start()}.
+ */
+public class StubQuizServer implements AutoCloseable {
+
+    private static final String PREFIX = "/quizzes/";
+    // room for a loader opening a whole pool of connections at once
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int port;
+    private final long minLatencyMillis;
+    private final long maxLatencyMillis;
+    private final double failureRate;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean started;
+
+    /**
+     * @param port 0 for any free port
+     * @param failureRate share of requests answered with 503, between 0 and 1
+     */
+    public StubQuizServer(int port, long minLatencyMillis, long maxLatencyMillis, double failureRate) throws IOException {
+        this.minLatencyMillis = Math.max(0, minLatencyMillis);
+        this.maxLatencyMillis = Math.max(this.minLatencyMillis, maxLatencyMillis);
+        this.failureRate = Math.max(0, Math.min(1, failureRate));
+        this.port = port;
+        this.server = HttpServer.create();
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stub-quiz-server-", 1).factory());
+        server.setExecutor(executor);
+        server.createContext(PREFIX, this::handle);
+    }
+
+    /**
+     * Binds the port and starts answering requests.
+     */
+    public synchronized void start() throws IOException {
+        if (started) {
+            throw new IllegalStateException("Stub quiz server already started");
+        }
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.start();
+        started = true;
+        System.out.println("Stub quiz source listening on " + getBaseUri());
+    }
+
+    public URI getBaseUri() {
+        if (!started) {
+            throw new IllegalStateException("Stub quiz server not started");
+        }
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/");
+    }
+
+    public long getServed() {
+        return served.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String title = exchange.getRequestURI().getPath().substring(PREFIX.length());
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long spread = maxLatencyMillis - minLatencyMillis;
+            try {
+                Thread.sleep(minLatencyMillis + (spread > 0 ? random.nextLong(spread) : 0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            if (title.isBlank()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            if (random.nextDouble() < failureRate) {
+                failed.increment();
+                exchange.getResponseHeaders().set("Retry-After", "0");
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] body = JsonSerializer.quizToJsonBytes(SimulatedQuizSource.sampleQuiz(title));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            served.increment();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (started) {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,59 @@
+package com.quizmaster.source;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket: up to {@code burst} calls at once, refilled at
+ * {@code permitsPerSecond}. A caller that finds the bucket empty reserves
+ * the next token and sleeps until it is due, outside the lock, so waiting
+ * callers queue up in order without holding each other up.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Waits for a token. A caller interrupted while waiting hands its
+     * reserved token back, so the callers behind it are not delayed for it.
+     *
+     * @return nanoseconds spent waiting
+     */
+    public long acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                refund();
+                throw e;
+            }
+        }
+        return waitNanos;
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        tokens -= 1;
+        // below zero the token is borrowed from the future; wait until it is paid back
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+
+    private synchronized void refund() {
+        tokens = Math.min(burst, tokens + 1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.quizmaster.util;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes a chunk in one transaction and, if that fails, item by item so
+ * that only the bad items are lost. The action must roll back as a whole
+ * when it throws, and must leave the items fit to be written again.
+ */
+public final class ChunkFallback {
+
+    /**
+     * Receives an item that failed on its own, with its position in the chunk.
+     */
+    @FunctionalInterface
+    public interface FailureSink<T> {
+        void failed(T item, int position, RuntimeException error);
+    }
+
+    private ChunkFallback() {
+    }
+
+    /**
+     * @param action writes the items it is given: the whole chunk, then one at a time
+     */
+    public static <T> void apply(List<T> chunk, Consumer<List<T>> action, FailureSink<T> failures) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            action.accept(chunk);
+        } catch (RuntimeException chunkFailure) {
+            for (int i = 0; i < chunk.size(); i++) {
+                T item = chunk.get(i);
+                try {
+                    action.accept(List.of(item));
+                } catch (RuntimeException e) {
+                    failures.failed(item, i, e);
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.quizmaster.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.quizmaster.model.QuizEntity;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,6 +25,7 @@ import java.util.List;
 public class JsonSerializer {
     
     private static final ObjectMapper objectMapper;
+    private static final ObjectWriter compactWriter;
     private static final String DEFAULT_EXPORT_DIR = "quiz-exports";
     
     static {
@@ -27,6 +33,7 @@ public class JsonSerializer {
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        compactWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
     }
 
     public static Path saveQuizToJson(QuizEntity quiz, String filename) throws IOException {
@@ -51,6 +58,7 @@ public class JsonSerializer {
         }
         
         QuizEntity quiz = objectMapper.readValue(file, QuizEntity.class);
+        quiz.recalculateAggregates();
         System.out.println("Quiz loaded from: " + filepath);
         return quiz;
     }
@@ -84,17 +92,116 @@ public class JsonSerializer {
             file,
             objectMapper.getTypeFactory().constructCollectionType(List.class, QuizEntity.class)
         );
+        quizzes.forEach(QuizEntity::recalculateAggregates);
         
         System.out.println(quizzes.size() + " quizzes loaded from: " + filepath);
         return quizzes;
     }
 
+    /**
+     * Writes quizzes as JSON Lines, one compact quiz per line, replacing the file.
+     */
+    public static Path saveQuizzesToNdjson(List<QuizEntity> quizzes, String filename) throws IOException {
+        return writeNdjson(quizzes, filename, false);
+    }
+
+    /**
+     * Adds quizzes to the end of a JSON Lines file, creating it if needed.
+     * Lines already in the file are never rewritten.
+     */
+    public static Path appendQuizzesToNdjson(List<QuizEntity> quizzes, String filename) throws IOException {
+        return writeNdjson(quizzes, filename, true);
+    }
+
+    private static Path writeNdjson(List<QuizEntity> quizzes, String filename, boolean append) throws IOException {
+        Path filePath = resolveExportPath(filename, QuizCatalogFormat.NDJSON.getExtension());
+        try (QuizCatalogWriter writer = new QuizCatalogNdjsonWriter(filePath, append)) {
+            for (QuizEntity quiz : quizzes) {
+                writer.write(quiz);
+            }
+            writer.finish();
+        }
+        System.out.println(quizzes.size() + " quizzes " + (append ? "appended to: " : "saved to: ")
+                + filePath.toAbsolutePath());
+        return filePath;
+    }
+
+    /**
+     * Loads a JSON Lines file, parsing byte ranges of it in parallel. Fails
+     * on the first line that is not a quiz, like {@link #loadQuizzesFromJson}.
+     */
+    public static List<QuizEntity> loadQuizzesFromNdjson(String filepath) throws IOException {
+        Path path = Paths.get(filepath);
+        if (!Files.exists(path)) {
+            throw new IOException("File not found: " + filepath);
+        }
+        List<QuizEntity> quizzes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            quizzes = QuizCatalogNdjsonReader.split(channel, parallelism).parallelStream()
+                    .map(range -> readRange(channel, range))
+                    .flatMap(List::stream)
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        System.out.println(quizzes.size() + " quizzes loaded from: " + filepath);
+        return quizzes;
+    }
+
+    private static List<QuizEntity> readRange(FileChannel channel, QuizCatalogNdjsonReader.ByteRange range) {
+        List<QuizEntity> quizzes = new ArrayList<>();
+        try (QuizCatalogNdjsonReader reader = new QuizCatalogNdjsonReader(channel, range)) {
+            for (QuizEntity quiz = reader.next(); quiz != null; quiz = reader.next()) {
+                quizzes.add(quiz);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return quizzes;
+    }
+
     public static String quizToJson(QuizEntity quiz) throws IOException {
         return objectMapper.writeValueAsString(quiz);
     }
 
+    /**
+     * Serializes a quiz to compact UTF-8 JSON, without the indentation of the file exports.
+     */
+    public static byte[] quizToJsonBytes(QuizEntity quiz) throws IOException {
+        return compactWriter.writeValueAsBytes(quiz);
+    }
+
     public static QuizEntity jsonToQuiz(String json) throws IOException {
-        return objectMapper.readValue(json, QuizEntity.class);
+        QuizEntity quiz = objectMapper.readValue(json, QuizEntity.class);
+        quiz.recalculateAggregates();
+        return quiz;
+    }
+
+    /**
+     * Resolves a file name inside the export directory, creating the directory if needed.
+     */
+    public static Path resolveExportPath(String filename) throws IOException {
+        return resolveExportPath(filename, ".json");
+    }
+
+    /**
+     * @param extension appended unless the name already ends with it
+     */
+    public static Path resolveExportPath(String filename, String extension) throws IOException {
+        Path exportDir = Paths.get(DEFAULT_EXPORT_DIR);
+        if (!Files.exists(exportDir)) {
+            Files.createDirectories(exportDir);
+        }
+        Path path = exportDir.resolve(filename.endsWith(extension) ? filename : filename + extension).normalize();
+        if (!exportDir.equals(path.getParent())) {
+            throw new IllegalArgumentException("Not a plain file name: " + filename);
+        }
+        return path;
+    }
+
+    public static Path getExportDirectory() {
+        return Paths.get(DEFAULT_EXPORT_DIR);
     }
 
     public static List<Path> listExportedQuizzes() throws IOException {
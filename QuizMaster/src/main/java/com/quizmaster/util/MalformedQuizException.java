@@ -0,0 +1,18 @@
+package com.quizmaster.util;
+
+import java.io.IOException;
+
+/**
+ * A single catalog entry that could not be read as a quiz. Unlike other
+ * I/O errors it leaves the reader usable, so the entry can be skipped.
+ */
+public class MalformedQuizException extends IOException {
+
+    public MalformedQuizException(String message) {
+        super(message);
+    }
+
+    public MalformedQuizException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,265 @@
+package com.quizmaster.util;
+
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.quizmaster.util.QuizCatalogBinaryWriter.FLAG_COMPRESSED;
+import static com.quizmaster.util.QuizCatalogBinaryWriter.MAGIC;
+import static com.quizmaster.util.QuizCatalogBinaryWriter.STRING_DEFINE;
+import static com.quizmaster.util.QuizCatalogBinaryWriter.STRING_LITERAL;
+import static com.quizmaster.util.QuizCatalogBinaryWriter.STRING_NULL;
+import static com.quizmaster.util.QuizCatalogBinaryWriter.STRING_TABLE_BASE;
+import static com.quizmaster.util.QuizCatalogBinaryWriter.VERSION;
+
+/**
+ * Reads the format written by {@link QuizCatalogBinaryWriter}, one block at
+ * a time. Records are decoded straight from the block buffer; a record whose
+ * values do not make a valid quiz is reported as {@link MalformedQuizException}
+ * after it has been consumed. So is a record that runs past the end of its
+ * block, which also gives up the rest of that block.
+ */
+public class QuizCatalogBinaryReader implements QuizCatalogReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_BLOCK_SIZE = 1 << 26;
+
+    private final DataInputStream in;
+    private final FileChannel channel;
+    private final long size;
+    private final boolean compressed;
+    private final Inflater inflater;
+    private final List<String> stringTable = new ArrayList<>();
+    private byte[] block = new byte[0];
+    private byte[] stored = new byte[0];
+    private int blockLength;
+    private int position;
+    private long blockNumber;
+    private boolean done;
+
+    public QuizCatalogBinaryReader(Path source) throws IOException {
+        this.channel = FileChannel.open(source, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!QuizCatalogBinaryWriter.hasMagic(magic)) {
+                throw new IOException("Not a binary quiz catalog: " + source);
+            }
+            int version = in.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported catalog version " + version + " in " + source);
+            }
+            this.compressed = (in.readUnsignedByte() & FLAG_COMPRESSED) != 0;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        this.inflater = compressed ? new Inflater() : null;
+    }
+
+    @Override
+    public QuizEntity next() throws IOException {
+        if (position == blockLength && !readBlock()) {
+            return null;
+        }
+        return readQuiz();
+    }
+
+    @Override
+    public double getProgress() {
+        try {
+            return size == 0 ? 1.0 : Math.min(1.0, (double) channel.position() / size);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inflater != null) {
+            inflater.end();
+        }
+        in.close();
+    }
+
+    private boolean readBlock() throws IOException {
+        if (done) {
+            return false;
+        }
+        try {
+            return fillBlock();
+        } catch (EOFException e) {
+            throw new IOException("Catalog file is truncated", e);
+        }
+    }
+
+    private boolean fillBlock() throws IOException {
+        int rawLength = in.readInt();
+        if (rawLength == 0) {
+            done = true;
+            return false;
+        }
+        int storedLength = in.readInt();
+        if (rawLength < 0 || rawLength > MAX_BLOCK_SIZE || storedLength < 0 || storedLength > MAX_BLOCK_SIZE) {
+            throw new IOException("Corrupt catalog block header");
+        }
+        if (block.length < rawLength) {
+            block = new byte[rawLength];
+        }
+        if (compressed) {
+            if (stored.length < storedLength) {
+                stored = new byte[storedLength];
+            }
+            in.readFully(stored, 0, storedLength);
+            inflater.reset();
+            inflater.setInput(stored, 0, storedLength);
+            try {
+                if (inflater.inflate(block, 0, rawLength) != rawLength || !inflater.finished()) {
+                    throw new IOException("Corrupt compressed catalog block");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt compressed catalog block", e);
+            }
+        } else {
+            in.readFully(block, 0, rawLength);
+        }
+        blockLength = rawLength;
+        position = 0;
+        blockNumber++;
+        return true;
+    }
+
+    private QuizEntity readQuiz() throws IOException {
+        long id = readVarLong();
+        String title = readString();
+        String description = readString();
+        int timeLimit = (int) readVarLong();
+        LocalDateTime createdAt = readTime();
+        LocalDateTime updatedAt = readTime();
+        int questionCount = count();
+
+        String problem = null;
+        QuizEntity quiz = new QuizEntity(title, description, timeLimit);
+        quiz.setId(id != 0 ? id : null);
+        for (int q = 0; q < questionCount; q++) {
+            long questionId = readVarLong();
+            String text = readString();
+            int points = (int) readVarLong();
+            String difficulty = readString();
+            int answerCount = count();
+            QuizQuestion question = new QuizQuestion(text, points, null);
+            question.setId(questionId != 0 ? questionId : null);
+            try {
+                question.setDifficulty(QuizQuestion.DifficultyLevel.valueOf(difficulty));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                problem = "unknown difficulty " + difficulty;
+            }
+            for (int a = 0; a < answerCount; a++) {
+                long answerId = readVarLong();
+                String answerText = readString();
+                QuizAnswer answer = new QuizAnswer(answerText, readByte() != 0);
+                answer.setId(answerId != 0 ? answerId : null);
+                question.addAnswer(answer);
+            }
+            quiz.addQuestion(question);
+        }
+        // restored last, the setters above stamp updatedAt
+        quiz.setCreatedAt(createdAt);
+        quiz.setUpdatedAt(updatedAt);
+        if (problem != null) {
+            throw new MalformedQuizException(problem);
+        }
+        return quiz;
+    }
+
+    private int count() throws IOException {
+        long value = readVarLong();
+        if (value > blockLength) {
+            throw new IOException("Corrupt element count " + value);
+        }
+        return (int) value;
+    }
+
+    private String readString() throws IOException {
+        long reference = readVarLong();
+        if (reference == STRING_NULL) {
+            return null;
+        }
+        if (reference == STRING_LITERAL || reference == STRING_DEFINE) {
+            int length = (int) readVarLong();
+            if (length < 0) {
+                throw new IOException("Corrupt string length " + length);
+            }
+            if (length > blockLength - position) {
+                throw pastBlockEnd();
+            }
+            String value = new String(block, position, length, StandardCharsets.UTF_8);
+            position += length;
+            if (reference == STRING_DEFINE) {
+                stringTable.add(value);
+            }
+            return value;
+        }
+        long index = reference - STRING_TABLE_BASE;
+        if (index >= stringTable.size()) {
+            throw new IOException("Unknown string reference " + index);
+        }
+        return stringTable.get((int) index);
+    }
+
+    private LocalDateTime readTime() throws IOException {
+        if (readByte() == 0) {
+            return null;
+        }
+        long seconds = readVarLong();
+        int nanos = (int) readVarLong();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private byte readByte() throws MalformedQuizException {
+        if (position >= blockLength) {
+            throw pastBlockEnd();
+        }
+        return block[position++];
+    }
+
+    /**
+     * Drops the rest of the block, so the next record is read from the next one.
+     */
+    private MalformedQuizException pastBlockEnd() {
+        MalformedQuizException e = new MalformedQuizException("Catalog record runs past the end of block " +
+                blockNumber + " at offset " + position + " of " + blockLength);
+        position = blockLength;
+        return e;
+    }
+}
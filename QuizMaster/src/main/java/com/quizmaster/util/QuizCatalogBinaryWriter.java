@@ -0,0 +1,228 @@
+package com.quizmaster.util;
+
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes the compact binary catalog format.
+ * <pre>
+ * file   := magic "QMCB" | version u16 | flags u8 | block* | end
+ * block  := rawLength i32 (> 0) | storedLength i32 | bytes   (deflated when flags has COMPRESSED)
+ * end    := rawLength i32 (= 0)
+ * quiz   := id | title | description | timeLimit | createdAt | updatedAt | questionCount | question*
+ * question := id | text | points | difficulty | answerCount | answer*
+ * answer := id | text | correct u8
+ * </pre>
+ * Integers are unsigned LEB128 varints (ids of 0 stand for null); times are
+ * a presence byte, then epoch seconds and nanos in UTC. Strings are
+ * references into a string table shared by the whole file: the first 64k
+ * distinct short strings are defined once and then repeated as their index,
+ * which collapses recurring answers and difficulty names. Derived values
+ * (totals, validity) are not stored.
+ */
+public class QuizCatalogBinaryWriter implements QuizCatalogWriter {
+
+    static final byte[] MAGIC = {'Q', 'M', 'C', 'B'};
+    static final int VERSION = 1;
+    static final int FLAG_COMPRESSED = 1;
+
+    // string references
+    static final int STRING_NULL = 0;
+    static final int STRING_LITERAL = 1;   // followed by the text, not added to the table
+    static final int STRING_DEFINE = 2;    // followed by the text, added as the next table entry
+    static final int STRING_TABLE_BASE = 3; // index + base refers to a table entry
+    static final int MAX_TABLE_STRING_LENGTH = 64;
+    static final int MAX_TABLE_SIZE = 1 << 16;
+
+    private static final int BLOCK_SIZE = 1 << 18;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path target;
+    private final Path temp;
+    private final DataOutputStream out;
+    private final boolean compress;
+    private final Deflater deflater;
+    private final BlockBuffer block = new BlockBuffer();
+    private final DataOutputStream record = new DataOutputStream(block);
+    private final Map<String, Integer> stringTable = new HashMap<>();
+    private byte[] compressed = new byte[0];
+    private long count;
+    private boolean finished;
+
+    public QuizCatalogBinaryWriter(Path target, boolean compress) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.compress = compress;
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        out.write(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(compress ? FLAG_COMPRESSED : 0);
+    }
+
+    static boolean hasMagic(byte[] head) {
+        return Arrays.equals(head, MAGIC);
+    }
+
+    @Override
+    public void write(QuizEntity quiz) throws IOException {
+        writeVarLong(quiz.getId() != null ? quiz.getId() : 0);
+        writeString(quiz.getTitle());
+        writeString(quiz.getDescription());
+        writeVarLong(quiz.getTimeLimit());
+        writeTime(quiz.getCreatedAt());
+        writeTime(quiz.getUpdatedAt());
+        writeVarLong(quiz.getQuestions().size());
+        for (QuizQuestion question : quiz.getQuestions()) {
+            writeVarLong(question.getId() != null ? question.getId() : 0);
+            writeString(question.getQuestionText());
+            writeVarLong(question.getPoints());
+            writeString(question.getDifficultyLevel() != null ? question.getDifficultyLevel().name() : null);
+            writeVarLong(question.getAnswers().size());
+            for (QuizAnswer answer : question.getAnswers()) {
+                writeVarLong(answer.getId() != null ? answer.getId() : 0);
+                writeString(answer.getAnswerText());
+                record.writeByte(answer.isCorrect() ? 1 : 0);
+            }
+        }
+        count++;
+        if (block.size() >= BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flushBlock();
+        out.writeInt(0);
+        out.close();
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (!finished) {
+            try {
+                out.close();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        int rawLength = block.size();
+        if (rawLength == 0) {
+            return;
+        }
+        out.writeInt(rawLength);
+        if (compress) {
+            deflater.reset();
+            deflater.setInput(block.array(), 0, rawLength);
+            deflater.finish();
+            int bound = rawLength + (rawLength >> 3) + 64;
+            if (compressed.length < bound) {
+                compressed = new byte[bound];
+            }
+            int storedLength = 0;
+            while (!deflater.finished()) {
+                if (storedLength == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                storedLength += deflater.deflate(compressed, storedLength, compressed.length - storedLength);
+            }
+            out.writeInt(storedLength);
+            out.write(compressed, 0, storedLength);
+        } else {
+            out.writeInt(rawLength);
+            out.write(block.array(), 0, rawLength);
+        }
+        block.reset();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarLong(STRING_NULL);
+            return;
+        }
+        Integer index = stringTable.get(value);
+        if (index != null) {
+            writeVarLong(STRING_TABLE_BASE + (long) index);
+        } else if (value.length() <= MAX_TABLE_STRING_LENGTH && stringTable.size() < MAX_TABLE_SIZE) {
+            stringTable.put(value, stringTable.size());
+            writeVarLong(STRING_DEFINE);
+            writeText(value);
+        } else {
+            writeVarLong(STRING_LITERAL);
+            writeText(value);
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        record.write(bytes);
+    }
+
+    private void writeTime(LocalDateTime time) throws IOException {
+        if (time == null) {
+            record.writeByte(0);
+            return;
+        }
+        record.writeByte(1);
+        writeVarLong(time.toEpochSecond(ZoneOffset.UTC));
+        writeVarLong(time.getNano());
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            record.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        record.writeByte((int) value);
+    }
+
+    /**
+     * Byte buffer whose backing array can be handed to the deflater without copying.
+     */
+    private static final class BlockBuffer extends ByteArrayOutputStream {
+
+        BlockBuffer() {
+            super(BLOCK_SIZE + (BLOCK_SIZE >> 2));
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
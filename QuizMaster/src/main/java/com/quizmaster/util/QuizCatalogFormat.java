@@ -0,0 +1,132 @@
+package com.quizmaster.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * File formats for catalog export and import.
+ */
+public enum QuizCatalogFormat {
+
+    /** JSON array, readable by {@link JsonSerializer#loadQuizzesFromJson}. */
+    JSON(".json"),
+
+    /** Compact binary format, see {@link QuizCatalogBinaryWriter}. */
+    BINARY(".qmc"),
+
+    /** One quiz per line, appendable and splittable, see {@link QuizCatalogNdjsonWriter}. */
+    NDJSON(".ndjson");
+
+    // JSON Lines files go by either extension
+    private static final String JSONL_EXTENSION = ".jsonl";
+    private static final int HEAD_SIZE = 1 << 16;
+
+    private final String extension;
+
+    QuizCatalogFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param compress deflate the data blocks; only used by {@link #BINARY}
+     */
+    public QuizCatalogWriter openWriter(Path target, boolean compress) throws IOException {
+        return openWriter(target, compress, false);
+    }
+
+    /**
+     * @param append add to the end of an existing file; only {@link #NDJSON} supports it
+     */
+    public QuizCatalogWriter openWriter(Path target, boolean compress, boolean append) throws IOException {
+        if (append && !supportsAppend()) {
+            throw new IllegalArgumentException("Cannot append to a " + name() + " catalog");
+        }
+        return switch (this) {
+            case JSON -> new QuizCatalogJsonWriter(target);
+            case BINARY -> new QuizCatalogBinaryWriter(target, compress);
+            case NDJSON -> new QuizCatalogNdjsonWriter(target, append);
+        };
+    }
+
+    public QuizCatalogReader openReader(Path source) throws IOException {
+        return switch (this) {
+            case JSON -> new QuizCatalogJsonReader(source);
+            case BINARY -> new QuizCatalogBinaryReader(source);
+            case NDJSON -> new QuizCatalogNdjsonReader(source);
+        };
+    }
+
+    public boolean supportsAppend() {
+        return this == NDJSON;
+    }
+
+    /**
+     * Identifies the format of an existing file from its first bytes. A file
+     * whose first line is a whole JSON object is read as JSON Lines, which
+     * also covers a compact single-quiz file.
+     */
+    public static QuizCatalogFormat detect(Path source) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            byte[] head = in.readNBytes(HEAD_SIZE);
+            if (head.length >= QuizCatalogBinaryWriter.MAGIC.length && QuizCatalogBinaryWriter.hasMagic(
+                    Arrays.copyOf(head, QuizCatalogBinaryWriter.MAGIC.length))) {
+                return BINARY;
+            }
+            String name = source.getFileName().toString();
+            if (name.endsWith(NDJSON.extension) || name.endsWith(JSONL_EXTENSION)) {
+                return NDJSON;
+            }
+            return firstLineIsObject(head) ? NDJSON : JSON;
+        }
+    }
+
+    /**
+     * @return whether a name has the extension of a catalog format
+     */
+    public static boolean isCatalogFile(String name) {
+        for (QuizCatalogFormat format : values()) {
+            if (name.endsWith(format.extension)) {
+                return true;
+            }
+        }
+        return name.endsWith(JSONL_EXTENSION);
+    }
+
+    private static boolean firstLineIsObject(byte[] head) {
+        int start = 0;
+        while (start < head.length && Character.isWhitespace(head[start])) {
+            start++;
+        }
+        if (start == head.length || head[start] != '{') {
+            return false;
+        }
+        int end = start;
+        while (end < head.length && head[end] != '\n') {
+            end++;
+        }
+        if (end == HEAD_SIZE) {
+            // the line goes on past what was read
+            return false;
+        }
+        while (end > start && Character.isWhitespace(head[end - 1])) {
+            end--;
+        }
+        return end - start > 1 && head[end - 1] == '}';
+    }
+
+    public static QuizCatalogFormat fromName(String name) {
+        for (QuizCatalogFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown catalog format: " + name);
+    }
+}
@@ -0,0 +1,105 @@
+package com.quizmaster.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizmaster.model.QuizEntity;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a JSON array of quizzes, as written by {@link QuizCatalogJsonWriter}
+ * or {@link JsonSerializer#saveQuizzesToJson}, one element at a time.
+ * Each element is first read as a tree, so an element that does not bind to
+ * a quiz can be skipped without losing the position in the array. A single
+ * quiz object, as written by {@link JsonSerializer#saveQuizToJson}, reads as
+ * an array of one.
+ */
+public class QuizCatalogJsonReader implements QuizCatalogReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ObjectMapper mapper = JsonSerializer.getObjectMapper();
+    private final JsonParser parser;
+    private final long size;
+    private boolean single;
+    private boolean done;
+
+    public QuizCatalogJsonReader(Path source) throws IOException {
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.parser = mapper.getFactory().createParser(
+                new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+        JsonToken first = parser.nextToken();
+        if (first == JsonToken.START_OBJECT) {
+            single = true;
+        } else if (first != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Expected a JSON array of quizzes in " + source);
+        }
+    }
+
+    /**
+     * @return the next array element, or null after the last one
+     * @throws com.fasterxml.jackson.core.JsonParseException if the input is not well-formed JSON;
+     *         the reader cannot continue past it
+     */
+    public JsonNode nextElement() throws IOException {
+        if (done) {
+            return null;
+        }
+        if (single) {
+            done = true;
+            return mapper.readTree(parser);
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY || token == null) {
+            done = true;
+            return null;
+        }
+        return mapper.readTree(parser);
+    }
+
+    @Override
+    public QuizEntity next() throws IOException {
+        JsonNode element = nextElement();
+        if (element == null) {
+            return null;
+        }
+        try {
+            return bind(element);
+        } catch (JsonProcessingException e) {
+            throw new MalformedQuizException(e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Binds an element read by {@link #nextElement()} to a new quiz graph.
+     */
+    public QuizEntity bind(JsonNode element) throws IOException {
+        QuizEntity quiz = mapper.treeToValue(element, QuizEntity.class);
+        if (quiz == null) {
+            throw new MalformedQuizException("Element is not a quiz object");
+        }
+        quiz.recalculateAggregates();
+        return quiz;
+    }
+
+    @Override
+    public double getProgress() {
+        long offset = parser.currentLocation().getByteOffset();
+        return size == 0 || offset < 0 ? 1.0 : Math.min(1.0, (double) offset / size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.quizmaster.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quizmaster.model.QuizEntity;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes quizzes one at a time as a JSON array, in the same shape as
+ * {@link JsonSerializer#saveQuizzesToJson}, so only the quiz being written
+ * is ever held in memory. Output goes through a buffered file channel to a
+ * temporary file that replaces the target on {@link #finish()}; closing
+ * without finishing discards it.
+ */
+public class QuizCatalogJsonWriter implements QuizCatalogWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path target;
+    private final Path temp;
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private long count;
+    private boolean finished;
+
+    public QuizCatalogJsonWriter(Path target) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ObjectMapper mapper = JsonSerializer.getObjectMapper();
+        this.generator = mapper.getFactory().createGenerator(
+                new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        // no pretty printing, and no flush per quiz so the buffer does its job
+        this.writer = mapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void write(QuizEntity quiz) throws IOException {
+        writer.writeValue(generator, quiz);
+        count++;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            try {
+                generator.close();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.quizmaster.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.quizmaster.model.QuizEntity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a JSON Lines catalog, one quiz object per line, as written by
+ * {@link QuizCatalogNdjsonWriter}. The file is memory-mapped in windows
+ * that end at line boundaries and each line is bound on its own, so a
+ * malformed line is skipped without affecting the rest; blank lines are
+ * ignored.
+ * <p>
+ * Because any line boundary is a valid place to start, a file can be cut
+ * with {@link #split} into byte ranges that separate readers, sharing one
+ * channel, parse in parallel.
+ */
+public class QuizCatalogNdjsonReader implements QuizCatalogReader {
+
+    /** Largest window mapped at a time. */
+    static final long MAX_RANGE_BYTES = 1L << 26;
+    /** Smallest range worth handing to a thread of its own. */
+    static final long MIN_RANGE_BYTES = 1L << 20;
+
+    private static final int PROBE_SIZE = 1 << 13;
+    private static final ObjectReader quizReader = JsonSerializer.getObjectMapper()
+            .readerFor(QuizEntity.class)
+            .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final List<ByteRange> windows;
+    private final long length;
+    private int windowIndex;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long consumed;
+    private long entryOffset = -1;
+    private byte[] line = new byte[1 << 12];
+
+    public QuizCatalogNdjsonReader(Path source) throws IOException {
+        this.channel = FileChannel.open(source, StandardOpenOption.READ);
+        this.ownsChannel = true;
+        try {
+            long size = channel.size();
+            this.windows = split(channel, 0, size, MAX_RANGE_BYTES);
+            this.length = size;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads one range of a file produced by {@link #split}. The channel is
+     * not closed with this reader.
+     */
+    public QuizCatalogNdjsonReader(FileChannel channel, ByteRange range) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = false;
+        this.windows = split(channel, range.getStart(), range.getEnd(), MAX_RANGE_BYTES);
+        this.length = range.getLength();
+    }
+
+    /**
+     * Cuts a file into about {@code parts} ranges that start and end at line
+     * boundaries, none smaller than a megabyte or, bar one long line, larger
+     * than a mapping window.
+     */
+    public static List<ByteRange> split(FileChannel channel, int parts) throws IOException {
+        long size = channel.size();
+        long target = (size + Math.max(1, parts) - 1) / Math.max(1, parts);
+        return split(channel, 0, size, Math.max(MIN_RANGE_BYTES, Math.min(target, MAX_RANGE_BYTES)));
+    }
+
+    private static List<ByteRange> split(FileChannel channel, long start, long end, long target) throws IOException {
+        List<ByteRange> ranges = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        long from = start;
+        while (from < end) {
+            long to = end - from <= target ? end : lineEnd(channel, from + target - 1, end, probe);
+            if (to - from > Integer.MAX_VALUE) {
+                throw new IOException("Catalog line at byte " + from + " is too long");
+            }
+            ranges.add(new ByteRange(from, to));
+            from = to;
+        }
+        return ranges;
+    }
+
+    /**
+     * @return the position just past the first newline at or after {@code position}, or {@code end}
+     */
+    private static long lineEnd(FileChannel channel, long position, long end, ByteBuffer probe) throws IOException {
+        while (position < end) {
+            probe.clear();
+            probe.limit((int) Math.min(probe.capacity(), end - position));
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    @Override
+    public QuizEntity next() throws IOException {
+        while (true) {
+            if ((window == null || !window.hasRemaining()) && !nextWindow()) {
+                return null;
+            }
+            int start = window.position();
+            int limit = window.limit();
+            int end = start;
+            while (end < limit && window.get(end) != '\n') {
+                end++;
+            }
+            window.position(end < limit ? end + 1 : limit);
+            consumed += window.position() - start;
+            int trimmed = end;
+            while (trimmed > start && isBlank(window.get(trimmed - 1))) {
+                trimmed--;
+            }
+            if (trimmed == start) {
+                continue;
+            }
+            entryOffset = windowStart + start;
+            return bind(start, trimmed - start);
+        }
+    }
+
+    private QuizEntity bind(int start, int count) throws IOException {
+        if (line.length < count) {
+            line = new byte[Math.max(count, line.length * 2)];
+        }
+        window.get(start, line, 0, count);
+        QuizEntity quiz;
+        try {
+            quiz = quizReader.readValue(line, 0, count);
+        } catch (JsonProcessingException e) {
+            throw new MalformedQuizException(e.getOriginalMessage(), e);
+        }
+        if (quiz == null) {
+            throw new MalformedQuizException("Line is not a quiz object");
+        }
+        quiz.recalculateAggregates();
+        return quiz;
+    }
+
+    private boolean nextWindow() throws IOException {
+        if (windowIndex == windows.size()) {
+            window = null;
+            return false;
+        }
+        ByteRange range = windows.get(windowIndex++);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, range.getStart(), range.getLength());
+        windowStart = range.getStart();
+        return true;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * @return byte offset in the file of the line returned or rejected last
+     */
+    public long getEntryOffset() {
+        return entryOffset;
+    }
+
+    @Override
+    public double getProgress() {
+        return length == 0 ? 1.0 : Math.min(1.0, (double) consumed / length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // mappings are released once unreachable
+        window = null;
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Half-open byte range [start, end) of a file.
+     */
+    public static final class ByteRange {
+        private final long start;
+        private final long end;
+
+        public ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public long getLength() {
+            return end - start;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ")";
+        }
+    }
+}
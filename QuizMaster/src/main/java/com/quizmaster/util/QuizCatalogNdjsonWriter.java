@@ -0,0 +1,125 @@
+package com.quizmaster.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quizmaster.model.QuizEntity;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes quizzes as JSON Lines: one compact quiz object per line, each
+ * terminated by a newline. Unlike a JSON array the file is complete after
+ * every line, so it can be appended to and split for parallel reading
+ * (see {@link QuizCatalogNdjsonReader}).
+ * <p>
+ * A new file goes to a temporary file that replaces the target on
+ * {@link #finish()}. In append mode lines are added to the end of the
+ * target itself, and closing without finishing truncates it back to its
+ * previous length. A target whose last line was cut short is first ended
+ * with a newline, so the torn line stays on its own and is skipped on read.
+ */
+public class QuizCatalogNdjsonWriter implements QuizCatalogWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private final long initialSize;
+    private final boolean tornLine;
+    private long count;
+    private boolean finished;
+
+    public QuizCatalogNdjsonWriter(Path target, boolean append) throws IOException {
+        this.target = target;
+        if (append) {
+            this.temp = null;
+            boolean torn = !endsWithNewline(target);
+            this.channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            this.initialSize = channel.size();
+            this.tornLine = torn && initialSize > 0;
+        } else {
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.initialSize = 0;
+            this.tornLine = false;
+        }
+        ObjectMapper mapper = JsonSerializer.getObjectMapper();
+        this.generator = mapper.getFactory().createGenerator(
+                new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        // lines are separated explicitly, not by the default root value separator
+        generator.setRootValueSeparator(null);
+        this.writer = mapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (tornLine) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    private static boolean endsWithNewline(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return true;
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            ByteBuffer last = ByteBuffer.allocate(1);
+            return size == 0 || (in.read(last, size - 1) == 1 && last.get(0) == '\n');
+        }
+    }
+
+    @Override
+    public void write(QuizEntity quiz) throws IOException {
+        writer.writeValue(generator, quiz);
+        generator.writeRaw('\n');
+        count++;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+        if (temp != null) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (temp != null) {
+            try {
+                generator.close();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } else {
+            try {
+                generator.flush();
+                channel.truncate(initialSize);
+            } finally {
+                generator.close();
+            }
+        }
+    }
+}
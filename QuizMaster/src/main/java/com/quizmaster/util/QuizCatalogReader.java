@@ -0,0 +1,26 @@
+package com.quizmaster.util;
+
+import com.quizmaster.model.QuizEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential reader of a quiz catalog file. Quizzes come back as new,
+ * unmanaged graphs with their stored ids and recalculated aggregates.
+ */
+public interface QuizCatalogReader extends Closeable {
+
+    /**
+     * @return the next quiz, or null after the last one
+     * @throws MalformedQuizException if this entry cannot be turned into a
+     *         quiz; the reader is positioned at the next entry
+     * @throws IOException if the file cannot be read any further
+     */
+    QuizEntity next() throws IOException;
+
+    /**
+     * @return share of the file consumed so far, between 0 and 1
+     */
+    double getProgress();
+}
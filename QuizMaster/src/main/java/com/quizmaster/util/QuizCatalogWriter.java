@@ -0,0 +1,20 @@
+package com.quizmaster.util;
+
+import com.quizmaster.model.QuizEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential writer of a quiz catalog file. The file only replaces its
+ * target once {@link #finish()} succeeds; closing an unfinished writer
+ * discards the partial output.
+ */
+public interface QuizCatalogWriter extends Closeable {
+
+    void write(QuizEntity quiz) throws IOException;
+
+    void finish() throws IOException;
+
+    long getCount();
+}
@@ -0,0 +1,176 @@
+package com.quizmaster.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizTombstone;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Reads a file written by {@link QuizDeltaJsonWriter}: first the deletions
+ * through {@link #nextDeletion()}, then the quizzes through {@link #next()}.
+ * Deletions not read before the first quiz are skipped. The watermarks are
+ * available once the reader is open. Each quiz is read whole before its
+ * {@code updatedAt} is applied, so a quiz without one is rejected.
+ */
+public class QuizDeltaJsonReader implements QuizCatalogReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private enum Section { DELETES, QUIZZES, DONE }
+
+    private final ObjectMapper mapper = JsonSerializer.getObjectMapper();
+    private final JsonParser parser;
+    private final long size;
+    private LocalDateTime since;
+    private LocalDateTime until;
+    private Section section;
+
+    public QuizDeltaJsonReader(Path source) throws IOException {
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.parser = mapper.getFactory().createParser(
+                new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a delta object in " + source);
+            }
+            advance();
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    /**
+     * @return the watermark to export the next delta from
+     */
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    /**
+     * @return the next deletion, or null after the last one
+     * @throws MalformedQuizException if this entry is not a deletion
+     */
+    public QuizTombstone nextDeletion() throws IOException {
+        if (section != Section.DELETES) {
+            return null;
+        }
+        JsonNode element = nextElement();
+        if (element == null) {
+            return null;
+        }
+        JsonNode uid = element.get("uid");
+        JsonNode deletedAt = element.get("deletedAt");
+        if (uid == null || !uid.isTextual() || deletedAt == null || deletedAt.isNull()) {
+            throw new MalformedQuizException("Deletion without uid or deletedAt");
+        }
+        try {
+            return new QuizTombstone(uid.asText(), mapper.treeToValue(deletedAt, LocalDateTime.class));
+        } catch (JsonProcessingException e) {
+            throw new MalformedQuizException(e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public QuizEntity next() throws IOException {
+        while (section == Section.DELETES) {
+            if (nextElement() == null) {
+                break;
+            }
+        }
+        if (section != Section.QUIZZES) {
+            return null;
+        }
+        JsonNode element = nextElement();
+        if (element == null) {
+            return null;
+        }
+        if (!element.isObject()) {
+            throw new MalformedQuizException("Element is not a quiz object");
+        }
+        JsonNode updatedAt = element.get("updatedAt");
+        if (updatedAt == null || updatedAt.isNull()) {
+            throw new MalformedQuizException("Quiz without updatedAt");
+        }
+        try {
+            QuizEntity quiz = mapper.treeToValue(element, QuizEntity.class);
+            if (quiz == null) {
+                throw new MalformedQuizException("Element is not a quiz object");
+            }
+            // the setters stamp the local time whatever the field order; the source's wins
+            quiz.setUpdatedAt(mapper.treeToValue(updatedAt, LocalDateTime.class));
+            quiz.recalculateAggregates();
+            return quiz;
+        } catch (JsonProcessingException e) {
+            throw new MalformedQuizException(e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public double getProgress() {
+        long offset = parser.currentLocation().getByteOffset();
+        return size == 0 || offset < 0 ? 1.0 : Math.min(1.0, (double) offset / size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * @return the next element of the current array, or null after its end,
+     *         having moved on to the next section
+     */
+    private JsonNode nextElement() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            advance();
+            return null;
+        }
+        if (token == null) {
+            throw new IOException("Delta file ends inside an array");
+        }
+        return mapper.readTree(parser);
+    }
+
+    /**
+     * Reads object fields up to the start of the next array section.
+     */
+    private void advance() throws IOException {
+        while (true) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_OBJECT || token == null) {
+                section = Section.DONE;
+                return;
+            }
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("since".equals(field)) {
+                since = value == JsonToken.VALUE_NULL ? null : mapper.readValue(parser, LocalDateTime.class);
+            } else if ("until".equals(field)) {
+                until = value == JsonToken.VALUE_NULL ? null : mapper.readValue(parser, LocalDateTime.class);
+            } else if (value == JsonToken.START_ARRAY && ("deletes".equals(field) || "quizzes".equals(field))) {
+                section = "deletes".equals(field) ? Section.DELETES : Section.QUIZZES;
+                return;
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+}
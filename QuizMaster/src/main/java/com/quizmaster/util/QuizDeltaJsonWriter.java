@@ -0,0 +1,117 @@
+package com.quizmaster.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizTombstone;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Writes a delta export: the watermark window, the tombstones of quizzes
+ * deleted in it, then the quizzes created or changed in it.
+ * <pre>
+ * {"since": ..., "until": ..., "deletes": [{"uid": ..., "deletedAt": ...}], "quizzes": [quiz, ...]}
+ * </pre>
+ * All deletions must be written before the first quiz. As with
+ * {@link QuizCatalogJsonWriter}, the target is only replaced on {@link #finish()}.
+ */
+public class QuizDeltaJsonWriter implements QuizCatalogWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path target;
+    private final Path temp;
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private boolean inQuizzes;
+    private long count;
+    private long deletionCount;
+    private boolean finished;
+
+    public QuizDeltaJsonWriter(Path target, LocalDateTime since, LocalDateTime until) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ObjectMapper mapper = JsonSerializer.getObjectMapper();
+        this.generator = mapper.getFactory().createGenerator(
+                new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        this.writer = mapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        generator.writeStartObject();
+        generator.writeFieldName("since");
+        writer.writeValue(generator, since);
+        generator.writeFieldName("until");
+        writer.writeValue(generator, until);
+        generator.writeArrayFieldStart("deletes");
+    }
+
+    public void writeDeletion(QuizTombstone tombstone) throws IOException {
+        if (inQuizzes) {
+            throw new IllegalStateException("Deletions must be written before quizzes");
+        }
+        generator.writeStartObject();
+        generator.writeStringField("uid", tombstone.getUid());
+        generator.writeFieldName("deletedAt");
+        writer.writeValue(generator, tombstone.getDeletedAt());
+        generator.writeEndObject();
+        deletionCount++;
+    }
+
+    @Override
+    public void write(QuizEntity quiz) throws IOException {
+        startQuizzes();
+        writer.writeValue(generator, quiz);
+        count++;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    public long getDeletionCount() {
+        return deletionCount;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        startQuizzes();
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            try {
+                generator.close();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private void startQuizzes() throws IOException {
+        if (!inQuizzes) {
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("quizzes");
+            inQuizzes = true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.quizmaster.concurrency;
+
+import com.quizmaster.source.SimulatedQuizSource;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the execution modes of {@link ExternalQuizLoader} on batches of
+ * simulated sources: the default fixed pool, a fixed pool as large as the
+ * virtual-thread limit, and virtual threads. Runs without Spring:
+ * <pre>
+ * java -cp target/test-classes:target/classes:... com.quizmaster.concurrency.ExternalQuizLoaderBenchmark [sources...]
+ * </pre>
+ * Simulated latency is shortened to 20-60 ms so the small fixed pool
+ * finishes 10,000 sources in minutes rather than hours; what matters is the
+ * number of latency rounds each configuration needs.
+ */
+public class ExternalQuizLoaderBenchmark {
+
+    private static final int POOL_SIZE = 5;
+    private static final int MAX_CONCURRENCY = 1000;
+    private static final long MIN_LATENCY_MS = 20;
+    private static final long MAX_LATENCY_MS = 60;
+    private static final int PERSIST_BATCH_SIZE = 10;
+    // large enough that the fixed pool's 10,000 sources are never cut short
+    private static final long TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length > 0 ? parseSizes(args) : new int[]{10, 100, 10_000};
+        PrintStream out = System.out;
+        out.printf("Simulated latency %d-%d ms, fixed pools of %d and %d vs virtual threads limited to %d%n",
+                MIN_LATENCY_MS, MAX_LATENCY_MS, POOL_SIZE, MAX_CONCURRENCY, MAX_CONCURRENCY);
+        out.printf("%-8s %6s %8s %10s %12s%n", "mode", "limit", "sources", "millis", "sources/s");
+        // the loader and its tasks log every quiz; keep the table readable
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int size : sizes) {
+                List<String> titles = new ArrayList<>(size);
+                for (int i = 1; i <= size; i++) {
+                    titles.add("Benchmark quiz " + i);
+                }
+                run(out, titles, ExternalQuizLoader.ExecutionMode.FIXED, POOL_SIZE);
+                // same limit as the virtual threads, so only the kind of thread differs
+                run(out, titles, ExternalQuizLoader.ExecutionMode.FIXED, MAX_CONCURRENCY);
+                run(out, titles, ExternalQuizLoader.ExecutionMode.VIRTUAL, MAX_CONCURRENCY);
+            }
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    private static void run(PrintStream out, List<String> titles, ExternalQuizLoader.ExecutionMode mode, int limit)
+            throws InterruptedException {
+        // the limit is the pool size in fixed mode and the concurrency cap in virtual mode
+        ExternalQuizLoader loader = new ExternalQuizLoader(
+                new SimulatedQuizSource(MIN_LATENCY_MS, MAX_LATENCY_MS),
+                mode, limit, limit, PERSIST_BATCH_SIZE, TIMEOUT_MS, TIMEOUT_MS);
+        try {
+            long start = System.nanoTime();
+            int loaded = loader.loadQuizzesConcurrently(titles).size();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            out.printf("%-8s %6d %8d %10d %12.0f%n", mode, limit, loaded, millis, loaded * 1000.0 / Math.max(1, millis));
+        } finally {
+            loader.shutdown();
+        }
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+}
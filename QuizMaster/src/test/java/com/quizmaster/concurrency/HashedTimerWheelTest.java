@@ -0,0 +1,93 @@
+package com.quizmaster.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimerWheelTest {
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel("test-wheel", 1, TimeUnit.MILLISECONDS, 64, Runnable::run);
+
+    @AfterEach
+    void stop() {
+        wheel.stop();
+    }
+
+    @Test
+    void cancelledTimeoutNeverRuns() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        HashedTimerWheel.Timeout timeout = wheel.schedule(() -> ran.set(true), 30, TimeUnit.MILLISECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        Thread.sleep(150);
+
+        assertThat(ran).isFalse();
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(timeout.isExpired()).isFalse();
+        assertThat(wheel.getActiveCount()).isZero();
+    }
+
+    @Test
+    void cancelAtTheDeadlineEitherStopsTheTaskOrReportsItRan() throws InterruptedException {
+        int count = 2000;
+        AtomicInteger runs = new AtomicInteger();
+        List<AtomicBoolean> ran = new ArrayList<>();
+        List<HashedTimerWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AtomicBoolean flag = new AtomicBoolean();
+            ran.add(flag);
+            timeouts.add(wheel.schedule(() -> {
+                flag.set(true);
+                runs.incrementAndGet();
+            }, 20, TimeUnit.MILLISECONDS));
+        }
+
+        // cancel while the worker is expiring the same bucket
+        Thread.sleep(20);
+        int cancelled = 0;
+        List<Boolean> results = new ArrayList<>();
+        for (HashedTimerWheel.Timeout timeout : timeouts) {
+            boolean result = timeout.cancel();
+            results.add(result);
+            if (result) {
+                cancelled++;
+            }
+        }
+        awaitIdle();
+
+        assertThat(runs.get() + cancelled).isEqualTo(count);
+        for (int i = 0; i < count; i++) {
+            HashedTimerWheel.Timeout timeout = timeouts.get(i);
+            assertThat(timeout.isCancelled()).isEqualTo(results.get(i));
+            assertThat(timeout.isExpired()).isEqualTo(!results.get(i));
+            assertThat(ran.get(i).get()).isEqualTo(!results.get(i));
+        }
+    }
+
+    @Test
+    void cancelAfterFiringReturnsFalse() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        HashedTimerWheel.Timeout timeout = wheel.schedule(() -> ran.set(true), 5, TimeUnit.MILLISECONDS);
+        awaitIdle();
+
+        assertThat(ran).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timeout.isExpired()).isTrue();
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (wheel.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(wheel.getActiveCount()).isZero();
+    }
+}
@@ -0,0 +1,120 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+import com.quizmaster.util.QuizDeltaJsonWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class QuizDeltaServiceTest {
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizDeltaService quizDeltaService;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void editedAndReorderedQuestionsKeepTheirIdsByPosition() throws IOException {
+        String title = "Delta " + UUID.randomUUID();
+        QuizEntity stored = quizService.createQuiz(quiz(title, "First", "Second", "Third"));
+        List<Snapshot> before = load(title);
+
+        QuizEntity incoming = quiz(title, "First, edited", "Third", "Second");
+        incoming.setUid(stored.getUid());
+        incoming.setUpdatedAt(later());
+        DeltaImportResult result = quizDeltaService.importDelta(writeDelta(incoming));
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        List<Snapshot> after = load(title);
+        assertThat(after).extracting(snapshot -> snapshot.text)
+                .containsExactly("First, edited", "Third", "Second");
+        assertThat(after).extracting(snapshot -> snapshot.id)
+                .containsExactlyElementsOf(before.stream().map(snapshot -> snapshot.id).toList());
+        assertThat(after.get(1).answers).containsExactly("Third: right", "Third: wrong");
+        assertThat(after.get(1).answerIds).isEqualTo(before.get(1).answerIds);
+    }
+
+    @Test
+    void shorterQuizDropsTrailingQuestionsAndAppliesOnce() throws IOException {
+        String title = "Delta " + UUID.randomUUID();
+        QuizEntity stored = quizService.createQuiz(quiz(title, "First", "Second", "Third"));
+        List<Snapshot> before = load(title);
+
+        QuizEntity incoming = quiz(title, "First", "Second");
+        incoming.setUid(stored.getUid());
+        incoming.setUpdatedAt(later());
+        Path delta = writeDelta(incoming);
+
+        assertThat(quizDeltaService.importDelta(delta).getUpdated()).isEqualTo(1);
+        assertThat(load(title)).extracting(snapshot -> snapshot.id)
+                .containsExactly(before.get(0).id, before.get(1).id);
+
+        DeltaImportResult again = quizDeltaService.importDelta(delta);
+        assertThat(again.getUpdated()).isZero();
+        assertThat(again.getUnchanged()).isEqualTo(1);
+    }
+
+    private static QuizEntity quiz(String title, String... questionTexts) {
+        QuizEntity quiz = new QuizEntity(title, "Delta round trip", 10);
+        for (String text : questionTexts) {
+            QuizQuestion question = new QuizQuestion(text, 1, QuizQuestion.DifficultyLevel.EASY);
+            question.addAnswer(new QuizAnswer(text + ": right", true));
+            question.addAnswer(new QuizAnswer(text + ": wrong", false));
+            quiz.addQuestion(question);
+        }
+        return quiz;
+    }
+
+    // exported timestamps come from the database, which keeps microseconds
+    private static LocalDateTime later() {
+        return LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private Path writeDelta(QuizEntity quiz) throws IOException {
+        Path path = directory.resolve("delta-" + UUID.randomUUID() + ".json");
+        try (QuizDeltaJsonWriter writer = new QuizDeltaJsonWriter(path, null, LocalDateTime.now())) {
+            writer.write(quiz);
+            writer.finish();
+        }
+        return path;
+    }
+
+    private List<Snapshot> load(String title) {
+        List<Snapshot> questions = new ArrayList<>();
+        quizService.forEachQuizWithTitle(title, quiz -> quiz.getQuestions().forEach(question ->
+                questions.add(new Snapshot(question))));
+        return questions;
+    }
+
+    private static final class Snapshot {
+        final Long id;
+        final String text;
+        final List<String> answers;
+        final List<Long> answerIds;
+
+        Snapshot(QuizQuestion question) {
+            this.id = question.getId();
+            this.text = question.getQuestionText();
+            this.answers = question.getAnswers().stream().map(QuizAnswer::getAnswerText).toList();
+            this.answerIds = question.getAnswers().stream().map(QuizAnswer::getId).toList();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.quizmaster.source;
+
+import com.quizmaster.concurrency.ExternalQuizLoader;
+import com.quizmaster.concurrency.LoadResult;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads quizzes over HTTP from a {@link StubQuizServer} on loopback, so
+ * throughput and failure handling of the source stack can be measured
+ * offline. Runs without Spring:
+ * <pre>
+ * java -cp target/test-classes:target/classes:... com.quizmaster.source.QuizSourceBenchmark [sources]
+ * </pre>
+ * Compares a healthy server, one failing a fifth of its requests, and a
+ * healthy one behind a tight rate limit.
+ */
+public class QuizSourceBenchmark {
+
+    private static final long MIN_LATENCY_MS = 20;
+    private static final long MAX_LATENCY_MS = 80;
+    private static final int MAX_CONCURRENCY = 200;
+    private static final int PERSIST_BATCH_SIZE = 10;
+    private static final long TIMEOUT_MS = 60_000;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        List<String> titles = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            titles.add("Benchmark quiz " + i);
+        }
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+
+        // warm up the JIT, the client and the server code paths before measuring
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            run("warm-up", titles, client, 0.0, 1000, 100);
+        } finally {
+            System.setOut(out);
+        }
+        run("healthy", titles, client, 0.0, 1000, 100);
+        run("20% failing", titles, client, 0.2, 1000, 100);
+        run("50/s limit", titles, client, 0.0, 50, 10);
+    }
+
+    private static void run(String label, List<String> titles, HttpClient client, double failureRate,
+                            double ratePerSecond, int burst) throws Exception {
+        PrintStream out = System.out;
+        try (StubQuizServer server = new StubQuizServer(0, MIN_LATENCY_MS, MAX_LATENCY_MS, failureRate)) {
+            server.start();
+            ResilientQuizSource source = new ResilientQuizSource(
+                    new HttpQuizSource(client, server.getBaseUri(), Duration.ofSeconds(5)),
+                    100, 5000, new TokenBucketRateLimiter(ratePerSecond, burst), new RetryPolicy(3, 50, 1000));
+            ExternalQuizLoader loader = new ExternalQuizLoader(source, ExternalQuizLoader.ExecutionMode.VIRTUAL,
+                    5, MAX_CONCURRENCY, PERSIST_BATCH_SIZE, TIMEOUT_MS, TIMEOUT_MS);
+            LoadResult result;
+            // the loader and its tasks log every quiz; keep the report readable
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                result = loader.load(titles);
+            } finally {
+                System.setOut(out);
+                loader.shutdown();
+            }
+            out.printf("%-12s loaded %d/%d in %d ms (%.0f/s)%n", label, result.getQuizzes().size(),
+                    result.getRequested(), result.getElapsedMillis(),
+                    result.getQuizzes().size() * 1000.0 / Math.max(1, result.getElapsedMillis()));
+            out.printf("%-12s source %s%n", "", source.getMetrics());
+            out.printf("%-12s server served %d, failed %d%n", "", server.getServed(), server.getFailed());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.quizmaster.util;
+
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class QuizCatalogBinaryFormatTest {
+
+    // magic, version and flags
+    private static final int FILE_HEADER = 7;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void readsBackWhatWasWritten(boolean compress) throws IOException {
+        QuizEntity first = quiz(11L, "Capitals", "Where things are", LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000));
+        QuizEntity second = quiz(12L, "Capitals, again", null, null);
+        Path path = write(compress, first, second);
+
+        try (QuizCatalogBinaryReader reader = new QuizCatalogBinaryReader(path)) {
+            assertSameQuiz(reader.next(), first);
+            assertSameQuiz(reader.next(), second);
+            assertThat(reader.next()).isNull();
+            assertThat(reader.getProgress()).isEqualTo(1.0);
+        }
+    }
+
+    @Test
+    void recordRunningPastItsBlockIsMalformedAndEndsTheBlock() throws IOException {
+        Path path = write(false, quiz(11L, "Capitals", "Where things are", null));
+        byte[] bytes = Files.readAllBytes(path);
+        int rawLength = ByteBuffer.wrap(bytes, FILE_HEADER, 4).getInt();
+        int cut = 5;
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.write(bytes, 0, FILE_HEADER);
+            out.writeInt(rawLength - cut);
+            out.writeInt(rawLength - cut);
+            out.write(bytes, FILE_HEADER + 8, rawLength - cut);
+            out.writeInt(0);
+        }
+
+        try (QuizCatalogBinaryReader reader = new QuizCatalogBinaryReader(path)) {
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(MalformedQuizException.class)
+                    .hasMessageContaining("block 1 at offset " + (rawLength - cut));
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void fileCutInsideABlockIsNotReadable() throws IOException {
+        Path path = write(true, quiz(11L, "Capitals", "Where things are", null));
+        byte[] bytes = Files.readAllBytes(path);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            out.write(Arrays.copyOf(bytes, bytes.length - 10));
+        }
+
+        try (QuizCatalogBinaryReader reader = new QuizCatalogBinaryReader(path)) {
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(IOException.class)
+                    .isNotInstanceOf(MalformedQuizException.class);
+        }
+    }
+
+    private Path write(boolean compress, QuizEntity... quizzes) throws IOException {
+        Path path = directory.resolve("catalog" + QuizCatalogFormat.BINARY.getExtension());
+        try (QuizCatalogBinaryWriter writer = new QuizCatalogBinaryWriter(path, compress)) {
+            for (QuizEntity quiz : quizzes) {
+                writer.write(quiz);
+            }
+            writer.finish();
+        }
+        return path;
+    }
+
+    private static QuizEntity quiz(Long id, String title, String description, LocalDateTime createdAt) {
+        QuizEntity quiz = new QuizEntity(title, description, 15);
+        quiz.setId(id);
+        long questionId = id * 100;
+        for (QuizQuestion.DifficultyLevel difficulty : QuizQuestion.DifficultyLevel.values()) {
+            QuizQuestion question = new QuizQuestion("Capital of " + difficulty + "?", 2, difficulty);
+            question.setId(++questionId);
+            question.addAnswer(new QuizAnswer("Paris", true));
+            question.addAnswer(new QuizAnswer("Lyon", false));
+            question.addAnswer(new QuizAnswer("Ankara ünlü şehir", false));
+            quiz.addQuestion(question);
+        }
+        quiz.setCreatedAt(createdAt);
+        quiz.setUpdatedAt(createdAt != null ? createdAt.plusDays(1) : null);
+        return quiz;
+    }
+
+    private static void assertSameQuiz(QuizEntity actual, QuizEntity expected) {
+        assertThat(actual).isNotNull();
+        assertThat(actual.getId()).isEqualTo(expected.getId());
+        assertThat(actual.getTitle()).isEqualTo(expected.getTitle());
+        assertThat(actual.getDescription()).isEqualTo(expected.getDescription());
+        assertThat(actual.getTimeLimit()).isEqualTo(expected.getTimeLimit());
+        assertThat(actual.getCreatedAt()).isEqualTo(expected.getCreatedAt());
+        assertThat(actual.getUpdatedAt()).isEqualTo(expected.getUpdatedAt());
+        assertThat(actual.getQuestions()).hasSameSizeAs(expected.getQuestions());
+        for (int q = 0; q < expected.getQuestions().size(); q++) {
+            QuizQuestion actualQuestion = actual.getQuestions().get(q);
+            QuizQuestion expectedQuestion = expected.getQuestions().get(q);
+            assertThat(actualQuestion.getId()).isEqualTo(expectedQuestion.getId());
+            assertThat(actualQuestion.getQuestionText()).isEqualTo(expectedQuestion.getQuestionText());
+            assertThat(actualQuestion.getPoints()).isEqualTo(expectedQuestion.getPoints());
+            assertThat(actualQuestion.getDifficultyLevel()).isEqualTo(expectedQuestion.getDifficultyLevel());
+            assertThat(actualQuestion.getAnswers())
+                    .extracting(QuizAnswer::getAnswerText, QuizAnswer::isCorrect)
+                    .containsExactlyElementsOf(expectedQuestion.getAnswers().stream()
+                            .map(answer -> tuple(answer.getAnswerText(), answer.isCorrect()))
+                            .toList());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.quizmaster.util;
+
+import com.quizmaster.model.QuizAnswer;
+import com.quizmaster.model.QuizEntity;
+import com.quizmaster.model.QuizQuestion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizCatalogNdjsonReaderTest {
+
+    private static final int QUIZZES = 6000;
+    private static final int LONG_QUIZ = 2500;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rangesEndAtLineBoundariesAndTogetherReadEveryQuizOnce() throws IOException {
+        Path path = directory.resolve("catalog" + QuizCatalogFormat.NDJSON.getExtension());
+        List<String> titles = new ArrayList<>();
+        try (QuizCatalogNdjsonWriter writer = new QuizCatalogNdjsonWriter(path, false)) {
+            for (int i = 0; i < QUIZZES; i++) {
+                // uneven lengths, so the nominal cut points fall inside lines
+                String title = "Quiz " + i + " " + "x".repeat(i % 97);
+                // longer than a whole range on its own
+                String description = i == LONG_QUIZ ? "y".repeat((int) QuizCatalogNdjsonReader.MIN_RANGE_BYTES * 3 / 2) : null;
+                writer.write(quiz(title, description));
+                titles.add(title);
+            }
+            writer.finish();
+        }
+
+        List<String> read = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<QuizCatalogNdjsonReader.ByteRange> ranges = QuizCatalogNdjsonReader.split(channel, 8);
+            assertThat(ranges.size()).isGreaterThan(2);
+            assertThat(ranges.get(0).getStart()).isZero();
+            assertThat(ranges.get(ranges.size() - 1).getEnd()).isEqualTo(channel.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                QuizCatalogNdjsonReader.ByteRange range = ranges.get(i);
+                if (i > 0) {
+                    assertThat(range.getStart()).isEqualTo(ranges.get(i - 1).getEnd());
+                }
+                assertThat(byteAt(channel, range.getEnd() - 1)).as("last byte of %s", range).isEqualTo((byte) '\n');
+                try (QuizCatalogNdjsonReader reader = new QuizCatalogNdjsonReader(channel, range)) {
+                    for (QuizEntity quiz = reader.next(); quiz != null; quiz = reader.next()) {
+                        read.add(quiz.getTitle());
+                    }
+                    assertThat(reader.getProgress()).isEqualTo(1.0);
+                }
+            }
+        }
+        assertThat(read).containsExactlyElementsOf(titles);
+    }
+
+    @Test
+    void blankAndCarriageReturnLinesDoNotCountAsQuizzes() throws IOException {
+        Path path = directory.resolve("small" + QuizCatalogFormat.NDJSON.getExtension());
+        Files.writeString(path, "{\"title\":\"First\"}\r\n\n   \n{\"title\":\"Second\"}");
+
+        try (QuizCatalogNdjsonReader reader = new QuizCatalogNdjsonReader(path)) {
+            assertThat(reader.next().getTitle()).isEqualTo("First");
+            assertThat(reader.getEntryOffset()).isZero();
+            assertThat(reader.next().getTitle()).isEqualTo("Second");
+            assertThat(reader.getEntryOffset()).isEqualTo(24);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    private static QuizEntity quiz(String title, String description) {
+        QuizEntity quiz = new QuizEntity(title, description, 10);
+        QuizQuestion question = new QuizQuestion("Question of " + title, 1, QuizQuestion.DifficultyLevel.EASY);
+        question.addAnswer(new QuizAnswer("Yes", true));
+        question.addAnswer(new QuizAnswer("No", false));
+        quiz.addQuestion(question);
+        return quiz;
+    }
+
+    private static byte byteAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        channel.read(buffer, position);
+        return buffer.get(0);
+    }
+}